@@ -0,0 +1,34 @@
+package com.project.back_end.DTO;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Request body for looking up the prescriptions of many appointments at once.
+ */
+public class PrescriptionBatchRequest {
+
+    @NotNull(message = "Appointment ids are required")
+    private List<Long> appointmentIds;
+
+    // Prescription fields to return; empty to only learn which exist
+    private Set<String> fields;
+
+    public List<Long> getAppointmentIds() {
+        return appointmentIds;
+    }
+
+    public void setAppointmentIds(List<Long> appointmentIds) {
+        this.appointmentIds = appointmentIds;
+    }
+
+    public Set<String> getFields() {
+        return fields;
+    }
+
+    public void setFields(Set<String> fields) {
+        this.fields = fields;
+    }
+}
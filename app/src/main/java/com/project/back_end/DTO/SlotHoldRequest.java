@@ -0,0 +1,33 @@
+package com.project.back_end.DTO;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+/**
+ * Request body for placing a hold on a doctor's slot before booking.
+ */
+public class SlotHoldRequest {
+
+    @NotNull(message = "Doctor is required")
+    private Long doctorId;
+
+    @NotNull(message = "Appointment time is required")
+    private LocalDateTime appointmentTime;
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+
+    public LocalDateTime getAppointmentTime() {
+        return appointmentTime;
+    }
+
+    public void setAppointmentTime(LocalDateTime appointmentTime) {
+        this.appointmentTime = appointmentTime;
+    }
+}
@@ -0,0 +1,121 @@
+package com.project.back_end.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Read/write split between the primary ({@code spring.datasource.*}) and a
+ * read replica ({@code datasource.replica.*}). Only active when
+ * {@code datasource.replica.url} is set; otherwise Spring Boot's single
+ * datasource is used unchanged.
+ *
+ * Services opt into the replica with {@code @Transactional(readOnly = true)}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "datasource.replica", name = "url")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class DataSourceRoutingConfig implements WebMvcConfigurer {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(ReplicaProperties replica) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setJdbcUrl(replica.getUrl());
+        dataSource.setUsername(replica.getUsername());
+        dataSource.setPassword(replica.getPassword());
+        dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(
+            HikariDataSource primaryDataSource,
+            HikariDataSource replicaDataSource,
+            ReplicaProperties replica
+    ) {
+        return new ReadWriteRoutingDataSource(
+                primaryDataSource, replicaDataSource, replica.getStickyWindow().toMillis());
+    }
+
+    // What JPA, JdbcTemplate and the transaction manager see
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public ReplicaLagMonitor replicaLagMonitor(
+            HikariDataSource replicaDataSource,
+            ReadWriteRoutingDataSource routingDataSource,
+            ReplicaProperties replica
+    ) {
+        return new ReplicaLagMonitor(replicaDataSource, routingDataSource, replica);
+    }
+
+    // Identifies the client for read-your-writes stickiness: the token in the
+    // path when there is one, else the remote address. Only a hash of the
+    // token is kept; a collision merely sends a read to the primary.
+    @Override
+    public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        registry.addInterceptor(new AsyncHandlerInterceptor() {
+
+            @Override
+            public boolean preHandle(@NonNull HttpServletRequest request,
+                                     @NonNull HttpServletResponse response,
+                                     @NonNull Object handler) {
+                @SuppressWarnings("unchecked")
+                Map<String, String> variables = (Map<String, String>)
+                        request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+                String token = variables == null ? null : variables.get("token");
+                ReadWriteRoutingDataSource.bindClient(token != null
+                        ? "t:" + Integer.toHexString(token.hashCode())
+                        : "a:" + request.getRemoteAddr());
+                return true;
+            }
+
+            // Async requests (streams) skip afterCompletion on this thread
+            @Override
+            public void afterConcurrentHandlingStarted(@NonNull HttpServletRequest request,
+                                                       @NonNull HttpServletResponse response,
+                                                       @NonNull Object handler) {
+                ReadWriteRoutingDataSource.clearClient();
+            }
+
+            @Override
+            public void afterCompletion(@NonNull HttpServletRequest request,
+                                        @NonNull HttpServletResponse response,
+                                        @NonNull Object handler, Exception ex) {
+                ReadWriteRoutingDataSource.clearClient();
+            }
+        });
+    }
+}
@@ -0,0 +1,100 @@
+package com.project.back_end.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Token-bucket rates for the login endpoints, per endpoint name
+ * ("doctor", "admin", "patient"). Each endpoint has one bucket per login
+ * identifier and one per client address.
+ */
+@ConfigurationProperties(prefix = "security.login.rate-limit")
+public class LoginRateLimitProperties {
+
+    /** Upper bound on tracked buckets; least recently used ones are dropped. */
+    private int maxKeys = 100_000;
+
+    private Map<String, Endpoint> endpoints = new HashMap<>();
+
+    public int getMaxKeys() {
+        return maxKeys;
+    }
+
+    public void setMaxKeys(int maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    public Map<String, Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    public void setEndpoints(Map<String, Endpoint> endpoints) {
+        this.endpoints = endpoints;
+    }
+
+    /**
+     * @return the rates for an endpoint, or the defaults if none are configured
+     */
+    public Endpoint forEndpoint(String endpoint) {
+        return endpoints.getOrDefault(endpoint, Endpoint.DEFAULTS);
+    }
+
+    public static class Endpoint {
+
+        static final Endpoint DEFAULTS = new Endpoint();
+
+        private Rate identifier = new Rate(5, 5);
+        private Rate address = new Rate(20, 60);
+
+        public Rate getIdentifier() {
+            return identifier;
+        }
+
+        public void setIdentifier(Rate identifier) {
+            this.identifier = identifier;
+        }
+
+        public Rate getAddress() {
+            return address;
+        }
+
+        public void setAddress(Rate address) {
+            this.address = address;
+        }
+    }
+
+    public static class Rate {
+
+        /** Burst size. */
+        private int capacity;
+
+        /** Tokens added back per minute. */
+        private int perMinute;
+
+        public Rate() {
+        }
+
+        public Rate(int capacity, int perMinute) {
+            this.capacity = capacity;
+            this.perMinute = perMinute;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public int getPerMinute() {
+            return perMinute;
+        }
+
+        public void setPerMinute(int perMinute) {
+            this.perMinute = perMinute;
+        }
+    }
+}
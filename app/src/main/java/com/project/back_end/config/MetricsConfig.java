@@ -0,0 +1,79 @@
+package com.project.back_end.config;
+
+import com.project.back_end.events.DomainEventBus;
+import com.project.back_end.services.DoctorResponseCache;
+import com.project.back_end.services.LiveUpdateService;
+import com.project.back_end.services.TokenValidationCache;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metrics wiring. Service classes annotated with {@code @Timed("clinic.service")}
+ * get a timer per public method (tagged with class and method); repository
+ * and Mongo command latencies come from Spring Boot's built-in instrumentation.
+ * Everything is exposed on {@code /actuator/prometheus}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // Enables @Timed on Spring beans
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public MeterBinder tokenCacheMetrics(TokenValidationCache cache) {
+        return registry -> {
+            FunctionCounter.builder("clinic.token.cache.requests", cache, c -> c.getStats().get("hits"))
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("clinic.token.cache.requests", cache, c -> c.getStats().get("misses"))
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("clinic.token.cache.evictions", cache, c -> c.getStats().get("evictions"))
+                    .register(registry);
+            Gauge.builder("clinic.token.cache.size", cache, c -> c.getStats().get("size"))
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder doctorResponseCacheMetrics(DoctorResponseCache cache) {
+        return registry -> {
+            FunctionCounter.builder("clinic.doctor.response-cache.requests", cache, c -> c.getStats().get("hits"))
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("clinic.doctor.response-cache.requests", cache, c -> c.getStats().get("misses"))
+                    .tag("result", "miss")
+                    .register(registry);
+            Gauge.builder("clinic.doctor.response-cache.size", cache, c -> c.getStats().get("size"))
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder domainEventBusMetrics(DomainEventBus bus) {
+        return registry -> {
+            FunctionCounter.builder("clinic.events.published", bus, b -> b.getStats().get("published"))
+                    .register(registry);
+            FunctionCounter.builder("clinic.events.dropped", bus, b -> b.getStats().get("dropped"))
+                    .register(registry);
+            FunctionCounter.builder("clinic.events.failed", bus, b -> b.getStats().get("failed"))
+                    .register(registry);
+            Gauge.builder("clinic.events.backlog", bus, b -> b.getStats().get("backlog"))
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder liveUpdateMetrics(LiveUpdateService liveUpdates) {
+        return registry -> Gauge.builder("clinic.sse.subscribers", liveUpdates, LiveUpdateService::getSubscriberCount)
+                .register(registry);
+    }
+}
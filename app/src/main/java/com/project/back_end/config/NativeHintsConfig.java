@@ -0,0 +1,70 @@
+package com.project.back_end.config;
+
+import com.project.back_end.DTO.AppointmentDTO;
+import com.project.back_end.DTO.Login;
+import com.project.back_end.DTO.PrescriptionBatchRequest;
+import com.project.back_end.DTO.SlotHoldRequest;
+import com.project.back_end.models.Appointment;
+import com.project.back_end.models.AvailableSlot;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.models.Patient;
+import com.project.back_end.models.Prescription;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.util.List;
+
+/**
+ * GraalVM native-image metadata for what Spring AOT cannot infer (build with
+ * {@code -Pnative}; on the JVM this class has no effect).
+ *
+ * Spring AOT already registers the JPA entities for Hibernate and the
+ * {@code @Document} types of the Mongo repositories. What remains is JSON
+ * binding of entities and DTOs nested in the {@code Map} responses, and
+ * JJWT, which creates its implementation classes by name and finds its
+ * Jackson serializer through {@code ServiceLoader}. The BCrypt encoder
+ * needs no reflection.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.ClinicRuntimeHints.class)
+@RegisterReflectionForBinding({
+        Doctor.class, AvailableSlot.class, Patient.class, Appointment.class, Prescription.class,
+        AppointmentDTO.class, Login.class, SlotHoldRequest.class, PrescriptionBatchRequest.class
+})
+public class NativeHintsConfig {
+
+    /** Classes {@code io.jsonwebtoken.lang.Classes} instantiates reflectively. */
+    static final List<String> JJWT_IMPLEMENTATIONS = List.of(
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+            "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+            "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyOperations",
+            "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+            "io.jsonwebtoken.impl.security.KeysBridge",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+    );
+
+    static class ClinicRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (String type : JJWT_IMPLEMENTATIONS) {
+                hints.reflection().registerType(TypeReference.of(type),
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.project.back_end.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Sends connections for read-only transactions to the replica and
+ * everything else to the primary.
+ *
+ * Must sit behind a {@code LazyConnectionDataSourceProxy}: the transaction
+ * manager opens its connection before the read-only flag is published, so
+ * the physical connection has to be fetched on the first statement.
+ *
+ * Reads stay on the primary when the replica is unavailable or lagging
+ * (see {@link ReplicaLagMonitor}), and for {@code stickyMillis} after the
+ * same client ran a write transaction, so a client always sees its own
+ * bookings. Code that keeps what it reads in memory (indexes, response
+ * caches) loads through {@link #forCache(Supplier)}: such loads use the
+ * replica only while it is within the stricter cache lag, since stale data
+ * loaded into a cache outlives the lag itself.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route { PRIMARY, REPLICA }
+
+    private static final int SWEEP_INTERVAL = 256;
+
+    // Client of the current request, bound by the web interceptor
+    private static final ThreadLocal<String> CLIENT = new ThreadLocal<>();
+
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+    private static final ThreadLocal<Boolean> CACHE_LOAD = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long stickyMillis;
+
+    private final ConcurrentHashMap<String, Long> stickyUntil = new ConcurrentHashMap<>();
+    private final AtomicInteger writesSinceSweep = new AtomicInteger();
+
+    // Off until the first lag check succeeds
+    private volatile boolean replicaAvailable;
+    // Caught up closely enough to fill caches from
+    private volatile boolean replicaCurrent;
+
+    private final LongAdder replicaReads = new LongAdder();
+    private final LongAdder primaryReads = new LongAdder();
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, long stickyMillis) {
+        this.primary = primary;
+        this.replica = replica;
+        this.stickyMillis = stickyMillis;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    // -------------------- CLIENT BINDING --------------------
+
+    public static void bindClient(String client) {
+        CLIENT.set(client);
+    }
+
+    public static void clearClient() {
+        CLIENT.remove();
+    }
+
+    /**
+     * Runs {@code work} with every connection it opens taken from the
+     * primary, read-only transactions included. Works the same whether or
+     * not routing is enabled.
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        Boolean previous = PRIMARY_ONLY.get();
+        PRIMARY_ONLY.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) PRIMARY_ONLY.remove();
+        }
+    }
+
+    /**
+     * Runs {@code work}, whose results will be kept in memory, with its
+     * read-only transactions on the replica only while the replica is
+     * within {@code datasource.replica.cache-max-lag}; otherwise they use
+     * the primary. Works the same whether or not routing is enabled.
+     */
+    public static <T> T forCache(Supplier<T> work) {
+        Boolean previous = CACHE_LOAD.get();
+        CACHE_LOAD.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) CACHE_LOAD.remove();
+        }
+    }
+
+    // -------------------- ROUTING --------------------
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || PRIMARY_ONLY.get() != null) {
+            return Route.PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            markSticky(CLIENT.get());
+            return Route.PRIMARY;
+        }
+        boolean current = CACHE_LOAD.get() == null || replicaCurrent;
+        if (replicaAvailable && current && !isSticky(CLIENT.get())) {
+            replicaReads.increment();
+            return Route.REPLICA;
+        }
+        primaryReads.increment();
+        return Route.PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSource target = determineTargetDataSource();
+        if (target != replica) return target.getConnection();
+        try {
+            return replica.getConnection();
+        } catch (SQLException e) {
+            // Replica down: stay on the primary until the monitor sees it back
+            replicaAvailable = false;
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        DataSource target = determineTargetDataSource();
+        if (target != replica) return target.getConnection(username, password);
+        try {
+            return replica.getConnection(username, password);
+        } catch (SQLException e) {
+            replicaAvailable = false;
+            return primary.getConnection(username, password);
+        }
+    }
+
+    // -------------------- REPLICA STATE --------------------
+
+    public void setReplicaAvailable(boolean available) {
+        this.replicaAvailable = available;
+    }
+
+    public boolean isReplicaAvailable() {
+        return replicaAvailable;
+    }
+
+    public void setReplicaCurrent(boolean current) {
+        this.replicaCurrent = current;
+    }
+
+    public long getReplicaReadCount() {
+        return replicaReads.sum();
+    }
+
+    public long getPrimaryReadCount() {
+        return primaryReads.sum();
+    }
+
+    // -------------------- STICKINESS --------------------
+
+    private void markSticky(String client) {
+        if (client == null || stickyMillis <= 0) return;
+        long now = System.currentTimeMillis();
+        stickyUntil.put(client, now + stickyMillis);
+
+        if (writesSinceSweep.incrementAndGet() >= SWEEP_INTERVAL) {
+            writesSinceSweep.set(0);
+            stickyUntil.values().removeIf(until -> until <= now);
+        }
+    }
+
+    private boolean isSticky(String client) {
+        if (client == null) return false;
+        Long until = stickyUntil.get(client);
+        return until != null && until > System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,97 @@
+package com.project.back_end.config;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically checks the replica and switches read routing off while it
+ * is unreachable or more than {@code datasource.replica.max-lag} behind,
+ * and cache loads off while it is more than
+ * {@code datasource.replica.cache-max-lag} behind.
+ */
+public class ReplicaLagMonitor {
+
+    private final DataSource replica;
+    private final ReadWriteRoutingDataSource routing;
+    private final ReplicaProperties properties;
+
+    private ScheduledExecutorService executor;
+    private volatile long lastLagSeconds = -1;
+
+    public ReplicaLagMonitor(DataSource replica, ReadWriteRoutingDataSource routing, ReplicaProperties properties) {
+        this.replica = replica;
+        this.routing = routing;
+        this.properties = properties;
+    }
+
+    public void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getCheckInterval().toMillis();
+        executor.scheduleWithFixedDelay(this::check, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @return lag seen by the last check in seconds, or -1 if it failed
+     */
+    public long getLastLagSeconds() {
+        return lastLagSeconds;
+    }
+
+    void check() {
+        long lag;
+        try (Connection connection = replica.getConnection()) {
+            lag = measureLag(connection);
+        } catch (SQLException | RuntimeException e) {
+            lag = -1;
+        }
+        lastLagSeconds = lag;
+        routing.setReplicaAvailable(lag >= 0 && lag <= properties.getMaxLag().toSeconds());
+        routing.setReplicaCurrent(lag >= 0 && lag <= properties.getCacheMaxLag().toSeconds());
+    }
+
+    private long measureLag(Connection connection) throws SQLException {
+        String query = properties.getLagQuery();
+        if (query == null || query.isBlank()) {
+            return connection.isValid(1) ? 0 : -1;
+        }
+
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(query)) {
+            // No row: the server is not replicating, e.g. a standalone local instance
+            if (!rs.next()) return 0;
+
+            int column = lagColumn(rs.getMetaData());
+            long lag = rs.getLong(column);
+            // NULL means replication is stopped or broken
+            return rs.wasNull() ? -1 : lag;
+        }
+    }
+
+    private int lagColumn(ResultSetMetaData meta) throws SQLException {
+        for (int i = 1; i <= meta.getColumnCount(); i++) {
+            String name = meta.getColumnLabel(i);
+            if (name.equalsIgnoreCase("Seconds_Behind_Source") || name.equalsIgnoreCase("Seconds_Behind_Master")) {
+                return i;
+            }
+        }
+        // Custom lag query returning a single number of seconds
+        return 1;
+    }
+}
@@ -0,0 +1,111 @@
+package com.project.back_end.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Connection and routing settings for the MySQL read replica. Routing is
+ * only enabled when {@code datasource.replica.url} is set.
+ */
+@ConfigurationProperties(prefix = "datasource.replica")
+public class ReplicaProperties {
+
+    private String url;
+    private String username;
+    private String password;
+
+    private int maximumPoolSize = 10;
+
+    /** Replicas further behind than this are bypassed until they catch up. */
+    private Duration maxLag = Duration.ofSeconds(2);
+
+    /**
+     * Loads into in-memory caches use the replica only while it is at most
+     * this far behind. Zero: only when it reports no lag at all.
+     */
+    private Duration cacheMaxLag = Duration.ZERO;
+
+    private Duration checkInterval = Duration.ofSeconds(1);
+
+    /** How long a client's reads stay on the primary after one of its writes. */
+    private Duration stickyWindow = Duration.ofSeconds(5);
+
+    /**
+     * Statement reporting replication lag. Blank: only check the replica
+     * answers, e.g. for a plain second instance in local testing.
+     */
+    private String lagQuery = "SHOW REPLICA STATUS";
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public int getMaximumPoolSize() {
+        return maximumPoolSize;
+    }
+
+    public void setMaximumPoolSize(int maximumPoolSize) {
+        this.maximumPoolSize = maximumPoolSize;
+    }
+
+    public Duration getMaxLag() {
+        return maxLag;
+    }
+
+    public void setMaxLag(Duration maxLag) {
+        this.maxLag = maxLag;
+    }
+
+    public Duration getCacheMaxLag() {
+        return cacheMaxLag;
+    }
+
+    public void setCacheMaxLag(Duration cacheMaxLag) {
+        this.cacheMaxLag = cacheMaxLag;
+    }
+
+    public Duration getCheckInterval() {
+        return checkInterval;
+    }
+
+    public void setCheckInterval(Duration checkInterval) {
+        this.checkInterval = checkInterval;
+    }
+
+    public Duration getStickyWindow() {
+        return stickyWindow;
+    }
+
+    public void setStickyWindow(Duration stickyWindow) {
+        this.stickyWindow = stickyWindow;
+    }
+
+    public String getLagQuery() {
+        return lagQuery;
+    }
+
+    public void setLagQuery(String lagQuery) {
+        this.lagQuery = lagQuery;
+    }
+}
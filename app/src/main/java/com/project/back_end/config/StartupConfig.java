@@ -0,0 +1,24 @@
+package com.project.back_end.config;
+
+import com.project.back_end.controllers.AppointmentController;
+import com.project.back_end.controllers.DoctorController;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Startup tuning for the {@code fast-start} profile, which turns on
+ * {@code spring.main.lazy-initialization}. Beans on the hot request paths
+ * are still created during startup, together with everything they depend
+ * on, so an instance that reports ready serves its first doctor and
+ * appointment requests without a cold wiring pause. Without lazy
+ * initialization this filter has no effect.
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter hotPathBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(DoctorController.class, AppointmentController.class);
+    }
+}
@@ -1,6 +1,7 @@
 package com.project.back_end.config;
 
 
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.lang.NonNull; 
 
@@ -8,6 +9,7 @@ import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
+@EnableConfigurationProperties(LoginRateLimitProperties.class)
 public class WebConfig implements WebMvcConfigurer {
 
     @Override
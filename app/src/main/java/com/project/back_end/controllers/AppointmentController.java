@@ -1,48 +1,261 @@
 package com.project.back_end.controllers;
 
+import com.project.back_end.DTO.SlotHoldRequest;
+import com.project.back_end.models.Appointment;
+import com.project.back_end.services.AppointmentExportService;
+import com.project.back_end.services.AppointmentImportService;
+import com.project.back_end.services.AppointmentService;
+import com.project.back_end.services.LiveUpdateService;
+import com.project.back_end.services.TokenService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("${api.path}" + "appointments")
 public class AppointmentController {
 
-// 1. Set Up the Controller Class:
-//    - Annotate the class with `@RestController` to define it as a REST API controller.
-//    - Use `@RequestMapping("/appointments")` to set a base path for all appointment-related endpoints.
-//    - This centralizes all routes that deal with booking, updating, retrieving, and canceling appointments.
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private TokenService service;
+
+    @Autowired
+    private AppointmentImportService importService;
+
+    @Autowired
+    private AppointmentExportService exportService;
+
+    @Autowired
+    private LiveUpdateService liveUpdates;
+
+    /* -------------------------------------------------
+       1. GET APPOINTMENTS (DOCTOR ONLY)
+     ------------------------------------------------- */
+    @GetMapping("/{date}/{patientName}/{token}")
+    public ResponseEntity<Map<String, Object>> getAppointments(
+            @PathVariable String date,
+            @PathVariable String patientName,
+            @PathVariable String token
+    ) {
+
+        if (!service.validateToken(token, "doctor")) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", "Invalid or unauthorized token");
+            return new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED);
+        }
+
+        String pname = "null".equalsIgnoreCase(patientName) ? null : patientName;
+        return ResponseEntity.ok(
+                appointmentService.getAppointment(pname, LocalDate.parse(date), token));
+    }
+
+    /* -------------------------------------------------
+       2. HOLD A SLOT (PATIENT ONLY)
+     ------------------------------------------------- */
+    @PostMapping("/hold/{token}")
+    public ResponseEntity<Map<String, Object>> holdSlot(
+            @Valid @RequestBody SlotHoldRequest request,
+            @PathVariable String token
+    ) {
+
+        Map<String, Object> response = new HashMap<>();
+
+        if (!service.validateToken(token, "patient")) {
+            response.put("message", "Invalid or unauthorized token");
+            return new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED);
+        }
+
+        String holdId = appointmentService.holdSlot(request.getDoctorId(), request.getAppointmentTime());
+
+        if (holdId == null) {
+            response.put("message", "Slot is not available");
+            return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+        }
+
+        response.put("holdId", holdId);
+        response.put("expiresAt", appointmentService.getHoldExpiry(holdId));
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    /* -------------------------------------------------
+       3. BOOK APPOINTMENT (PATIENT ONLY)
+     ------------------------------------------------- */
+    @PostMapping("/{token}")
+    public ResponseEntity<Map<String, String>> bookAppointment(
+            @Valid @RequestBody Appointment appointment,
+            @PathVariable String token,
+            @RequestParam(required = false) String holdId
+    ) {
+
+        Map<String, String> response = new HashMap<>();
+
+        if (!service.validateToken(token, "patient")) {
+            response.put("message", "Invalid or unauthorized token");
+            return new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED);
+        }
+
+        int result = appointmentService.bookAppointment(appointment, holdId);
+
+        if (result == 1) {
+            response.put("message", "Appointment booked successfully");
+            return new ResponseEntity<>(response, HttpStatus.CREATED);
+        } else if (result == -1) {
+            response.put("message", "Slot is not available or the hold has expired");
+            return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+        } else {
+            response.put("message", "Some internal error occurred");
+            return new ResponseEntity<>(response, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /* -------------------------------------------------
+       4. UPDATE APPOINTMENT (PATIENT ONLY)
+     ------------------------------------------------- */
+    @PutMapping("/{token}")
+    public ResponseEntity<Map<String, String>> updateAppointment(
+            @Valid @RequestBody Appointment appointment,
+            @PathVariable String token
+    ) {
+
+        if (!service.validateToken(token, "patient")) {
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "Invalid or unauthorized token");
+            return new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED);
+        }
+
+        return appointmentService.updateAppointment(appointment);
+    }
+
+    /* -------------------------------------------------
+       5. CANCEL APPOINTMENT (PATIENT ONLY)
+     ------------------------------------------------- */
+    @DeleteMapping("/{id}/{token}")
+    public ResponseEntity<Map<String, String>> cancelAppointment(
+            @PathVariable long id,
+            @PathVariable String token
+    ) {
+
+        if (!service.validateToken(token, "patient")) {
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "Invalid or unauthorized token");
+            return new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED);
+        }
+
+        return appointmentService.cancelAppointment(id, token);
+    }
+
+    /* -------------------------------------------------
+       6. BULK IMPORT APPOINTMENTS (ADMIN ONLY)
+     ------------------------------------------------- */
+    @PostMapping(value = "/import/{token}", consumes = {"application/json", "text/csv"})
+    public ResponseEntity<Map<String, Object>> importAppointments(
+            @PathVariable String token,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            HttpServletRequest request
+    ) {
+
+        Map<String, Object> response = new HashMap<>();
+
+        if (!service.validateToken(token, "admin")) {
+            response.put("message", "Unauthorized");
+            return new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED);
+        }
 
+        try {
+            Map<String, Object> report = contentType.startsWith("text/csv")
+                    ? importService.importCsv(request.getInputStream())
+                    : importService.importJson(request.getInputStream());
+            return ResponseEntity.ok(report);
+        } catch (IllegalArgumentException | IOException e) {
+            response.put("message", "Could not read import: " + e.getMessage());
+            return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+        }
+    }
 
-// 2. Autowire Dependencies:
-//    - Inject `AppointmentService` for handling the business logic specific to appointments.
-//    - Inject the general `Service` class, which provides shared functionality like token validation and appointment checks.
+    /* -------------------------------------------------
+       7. EXPORT APPOINTMENTS (ADMIN ONLY)
+     ------------------------------------------------- */
+    @GetMapping("/export/{token}")
+    public ResponseEntity<?> exportAppointments(
+            @PathVariable String token,
+            @RequestParam(required = false) Long doctorId,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(defaultValue = "ndjson") String format
+    ) {
 
+        Map<String, Object> response = new HashMap<>();
 
-// 3. Define the `getAppointments` Method:
-//    - Handles HTTP GET requests to fetch appointments based on date and patient name.
-//    - Takes the appointment date, patient name, and token as path variables.
-//    - First validates the token for role `"doctor"` using the `Service`.
-//    - If the token is valid, returns appointments for the given patient on the specified date.
-//    - If the token is invalid or expired, responds with the appropriate message and status code.
+        if (!service.validateToken(token, "admin")) {
+            response.put("message", "Unauthorized");
+            return new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED);
+        }
 
+        AppointmentExportService.Format exportFormat;
+        LocalDate fromDate;
+        LocalDate toDate;
+        try {
+            exportFormat = AppointmentExportService.Format.of(format);
+            fromDate = from == null ? null : LocalDate.parse(from);
+            toDate = to == null ? null : LocalDate.parse(to);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            response.put("message", e.getMessage());
+            return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+        }
 
-// 4. Define the `bookAppointment` Method:
-//    - Handles HTTP POST requests to create a new appointment.
-//    - Accepts a validated `Appointment` object in the request body and a token as a path variable.
-//    - Validates the token for the `"patient"` role.
-//    - Uses service logic to validate the appointment data (e.g., check for doctor availability and time conflicts).
-//    - Returns success if booked, or appropriate error messages if the doctor ID is invalid or the slot is already taken.
+        boolean csv = exportFormat == AppointmentExportService.Format.CSV;
+        StreamingResponseBody body = out ->
+                exportService.export(doctorId, fromDate, toDate, exportFormat, out);
 
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv") : new MediaType("application", "x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"appointments." + (csv ? "csv" : "ndjson") + "\"")
+                .body(body);
+    }
 
-// 5. Define the `updateAppointment` Method:
-//    - Handles HTTP PUT requests to modify an existing appointment.
-//    - Accepts a validated `Appointment` object and a token as input.
-//    - Validates the token for `"patient"` role.
-//    - Delegates the update logic to the `AppointmentService`.
-//    - Returns an appropriate success or failure response based on the update result.
+    /* -------------------------------------------------
+       8. STREAM OWN SCHEDULE CHANGES (DOCTOR OR PATIENT)
+     ------------------------------------------------- */
+    @GetMapping(value = "/stream/{user}/{token}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> streamSchedule(
+            @PathVariable String user,
+            @PathVariable String token
+    ) {
 
+        Map<String, Object> response = new HashMap<>();
 
-// 6. Define the `cancelAppointment` Method:
-//    - Handles HTTP DELETE requests to cancel a specific appointment.
-//    - Accepts the appointment ID and a token as path variables.
-//    - Validates the token for `"patient"` role to ensure the user is authorized to cancel the appointment.
-//    - Calls `AppointmentService` to handle the cancellation process and returns the result.
+        if (!("doctor".equals(user) || "patient".equals(user)) || !service.validateToken(token, user)) {
+            response.put("message", "Unauthorized");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).contentType(MediaType.APPLICATION_JSON).body(response);
+        }
 
+        LiveUpdateService.Topic topic = liveUpdates.scheduleTopic(user, service.extractIdentifier(token));
+        if (topic == null) {
+            response.put("message", "Unauthorized");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).contentType(MediaType.APPLICATION_JSON).body(response);
+        }
 
+        SseEmitter emitter = liveUpdates.subscribe(topic, null, null);
+        if (emitter == null) {
+            response.put("message", "Too many live connections, try again later");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).contentType(MediaType.APPLICATION_JSON).body(response);
+        }
+        return ResponseEntity.ok(emitter);
+    }
 }
@@ -1,18 +1,29 @@
 package com.project.back_end.controllers;
 
 import com.project.back_end.models.Doctor;
-import com.project.back_end.models.Login;
+import com.project.back_end.DTO.Login;
+import com.project.back_end.services.DoctorResponseCache;
 import com.project.back_end.services.DoctorService;
+import com.project.back_end.services.LiveUpdateService;
+import com.project.back_end.services.LoginRateLimiter;
 import com.project.back_end.services.TokenService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("${api.path}" + "doctor")
@@ -24,6 +35,15 @@ public class DoctorController {
     @Autowired
     private TokenService service;
 
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+
+    @Autowired
+    private DoctorResponseCache responseCache;
+
+    @Autowired
+    private LiveUpdateService liveUpdates;
+
     /* -------------------------------------------------
        1. GET DOCTOR AVAILABILITY
      ------------------------------------------------- */
@@ -49,15 +69,93 @@ public class DoctorController {
         return response;
     }
 
+    /* -------------------------------------------------
+       1b. STREAM DOCTOR AVAILABILITY (SERVER-SENT EVENTS)
+     ------------------------------------------------- */
+    @GetMapping(value = "/availability/stream/{user}/{doctorId}/{date}/{token}",
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> streamDoctorAvailability(
+            @PathVariable String user,
+            @PathVariable Long doctorId,
+            @PathVariable String date,
+            @PathVariable String token
+    ) {
+
+        Map<String, Object> response = new HashMap<>();
+
+        if (!service.validateToken(token, user)) {
+            response.put("error", "Invalid token");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).contentType(MediaType.APPLICATION_JSON).body(response);
+        }
+
+        LocalDate day;
+        try {
+            day = LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            response.put("error", "Invalid date");
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(response);
+        }
+
+        // Current slots first, then slot-taken / slot-freed deltas; the
+        // snapshot is read only once the subscription is in place
+        SseEmitter emitter = liveUpdates.subscribe(
+                LiveUpdateService.Topic.availability(doctorId, day), "snapshot", () -> {
+                    Map<String, Object> snapshot = new HashMap<>();
+                    snapshot.put("doctorId", doctorId);
+                    snapshot.put("date", day);
+                    snapshot.put("availability", doctorService.getDoctorAvailability(doctorId, day));
+                    return snapshot;
+                });
+        if (emitter == null) {
+            response.put("error", "Too many live connections, try again later");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).contentType(MediaType.APPLICATION_JSON).body(response);
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
     /* -------------------------------------------------
        2. GET ALL DOCTORS
      ------------------------------------------------- */
     @GetMapping
-    public Map<String, Object> getDoctors() {
+    public ResponseEntity<byte[]> getDoctors(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
 
-        Map<String, Object> response = new HashMap<>();
-        response.put("doctors", doctorService.getDoctors());
-        return response;
+        return cached(DoctorResponseCache.key("all"), ifNoneMatch, () -> {
+            Map<String, Object> response = new HashMap<>();
+            response.put("doctors", doctorService.getDoctors());
+            return response;
+        });
+    }
+
+    /* -------------------------------------------------
+       2b. GET DOCTORS PAGE (CURSOR PAGINATED)
+     ------------------------------------------------- */
+    @GetMapping("/page")
+    public ResponseEntity<Map<String, Object>> getDoctorPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) Set<String> fields
+    ) {
+
+        try {
+            return ResponseEntity.ok(doctorService.getDoctorPage(cursor, limit, fields));
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", e.getMessage());
+            return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /* -------------------------------------------------
+       2c. SEARCH DOCTORS BY NAME OR SPECIALTY
+     ------------------------------------------------- */
+    @GetMapping("/search/{query}")
+    public Map<String, Object> searchDoctors(
+            @PathVariable String query,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return doctorService.searchDoctors(query, limit);
     }
 
     /* -------------------------------------------------
@@ -95,8 +193,17 @@ public class DoctorController {
      ------------------------------------------------- */
     @PostMapping("/login")
     public ResponseEntity<Map<String, String>> doctorLogin(
-            @RequestBody Login login
+            @RequestBody Login login,
+            HttpServletRequest request
     ) {
+
+        // Throttle before any lookup or password check
+        if (!loginRateLimiter.tryAcquire("doctor", login.getEmail(), request.getRemoteAddr())) {
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "Too many login attempts, please retry later");
+            return new ResponseEntity<>(response, HttpStatus.TOO_MANY_REQUESTS);
+        }
+
         return doctorService.validateDoctor(login);
     }
 
@@ -164,12 +271,38 @@ public class DoctorController {
        7. FILTER DOCTORS
      ------------------------------------------------- */
     @GetMapping("/filter/{name}/{time}/{speciality}")
-    public Map<String, Object> filterDoctors(
+    public ResponseEntity<byte[]> filterDoctors(
             @PathVariable String name,
             @PathVariable String time,
-            @PathVariable String speciality
+            @PathVariable String speciality,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
-        return doctorService
-                .filterDoctorsByNameSpecilityandTime(name, speciality, time);
+
+        return cached(DoctorResponseCache.key("filter", name, time, speciality), ifNoneMatch,
+                () -> doctorService.filterDoctorsByNameSpecilityandTime(name, speciality, time));
+    }
+
+    /* -------------------------------------------------
+       CACHED RESPONSES
+     ------------------------------------------------- */
+    // 304 straight from the cache when the client's ETag is current;
+    // otherwise the cached (or freshly built) JSON body. no-cache makes
+    // browsers and the edge proxy revalidate instead of serving stale lists.
+    private ResponseEntity<byte[]> cached(String key, String ifNoneMatch, Supplier<Object> loader) {
+
+        DoctorResponseCache.Response current = responseCache.matching(key, ifNoneMatch);
+        if (current != null) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(current.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+
+        DoctorResponseCache.Response response = responseCache.get(key, loader);
+        return ResponseEntity.ok()
+                .eTag(response.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(response.body());
     }
 }
@@ -1,16 +1,18 @@
 package com.project.back_end.controllers;
 
+import com.project.back_end.DTO.PrescriptionBatchRequest;
 import com.project.back_end.models.Prescription;
 import com.project.back_end.services.PrescriptionService;
 import com.project.back_end.services.TokenService;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import javax.validation.Valid;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("${api.path}" + "prescription")
@@ -38,10 +40,7 @@ public class PrescriptionController {
             return new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED);
         }
 
-        prescriptionService.savePrescription(prescription);
-
-        response.put("message", "Prescription saved successfully");
-        return new ResponseEntity<>(response, HttpStatus.CREATED);
+        return prescriptionService.savePrescription(prescription);
     }
 
     /* -------------------------------------------------
@@ -71,4 +70,59 @@ public class PrescriptionController {
         response.put("prescription", prescription);
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
+
+    /* -------------------------------------------------
+       3. GET PRESCRIPTIONS FOR MANY APPOINTMENTS
+     ------------------------------------------------- */
+    @PostMapping("/batch/{token}")
+    public ResponseEntity<Map<String, Object>> getPrescriptions(
+            @PathVariable String token,
+            @Valid @RequestBody PrescriptionBatchRequest request
+    ) {
+
+        Map<String, Object> response = new HashMap<>();
+
+        if (!service.validateToken(token, "doctor")) {
+            response.put("message", "Invalid or unauthorized token");
+            return new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED);
+        }
+
+        try {
+            response.put("prescriptions",
+                    prescriptionService.getPrescriptions(request.getAppointmentIds(), request.getFields()));
+            return new ResponseEntity<>(response, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            response.put("message", e.getMessage());
+            return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /* -------------------------------------------------
+       4. SEARCH PRESCRIPTIONS (TEXT OR MEDICATION PREFIX)
+     ------------------------------------------------- */
+    @GetMapping("/search/{token}")
+    public ResponseEntity<Map<String, Object>> searchPrescriptions(
+            @PathVariable String token,
+            @RequestParam String q,
+            @RequestParam(defaultValue = "text") String mode,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) Set<String> fields
+    ) {
+
+        Map<String, Object> response = new HashMap<>();
+
+        if (!service.validateToken(token, "doctor")) {
+            response.put("message", "Invalid or unauthorized token");
+            return new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED);
+        }
+
+        try {
+            return new ResponseEntity<>(prescriptionService.searchPrescriptions(
+                    q, PrescriptionService.SearchMode.of(mode), cursor, limit, fields), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            response.put("message", e.getMessage());
+            return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+        }
+    }
 }
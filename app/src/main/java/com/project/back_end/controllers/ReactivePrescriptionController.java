@@ -0,0 +1,105 @@
+package com.project.back_end.controllers;
+
+import com.project.back_end.DTO.PrescriptionBatchRequest;
+import com.project.back_end.models.Prescription;
+import com.project.back_end.services.ReactivePrescriptionService;
+import com.project.back_end.services.TokenService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Non-blocking variant of {@link PrescriptionController}. Handlers return
+ * {@link Mono}/{@link Flux}; Spring MVC completes the request asynchronously
+ * once Mongo answers, so no request thread waits on the database. Tokens
+ * are still validated up front, as in every controller.
+ */
+@RestController
+@RequestMapping("${api.path}" + "prescription/reactive")
+public class ReactivePrescriptionController {
+
+    @Autowired
+    private ReactivePrescriptionService prescriptionService;
+
+    @Autowired
+    private TokenService service;
+
+    /* -------------------------------------------------
+       1. SAVE PRESCRIPTION (DOCTOR ONLY)
+     ------------------------------------------------- */
+    @PostMapping("/{token}")
+    public Mono<ResponseEntity<Map<String, String>>> savePrescription(
+            @PathVariable String token,
+            @Valid @RequestBody Prescription prescription
+    ) {
+
+        if (!service.validateToken(token, "doctor")) {
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "Invalid or unauthorized token");
+            return Mono.just(new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED));
+        }
+
+        return prescriptionService.savePrescription(prescription);
+    }
+
+    /* -------------------------------------------------
+       2. GET PRESCRIPTION BY APPOINTMENT ID
+     ------------------------------------------------- */
+    @GetMapping("/{appointmentId}/{token}")
+    public Mono<ResponseEntity<Map<String, Object>>> getPrescription(
+            @PathVariable long appointmentId,
+            @PathVariable String token
+    ) {
+
+        Map<String, Object> response = new HashMap<>();
+
+        if (!service.validateToken(token, "doctor")) {
+            response.put("message", "Invalid or unauthorized token");
+            return Mono.just(new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED));
+        }
+
+        return prescriptionService.getPrescription(appointmentId)
+                .map(prescription -> {
+                    response.put("prescription", prescription);
+                    return new ResponseEntity<>(response, HttpStatus.OK);
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    response.put("message", "No prescription found for this appointment");
+                    return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+                }));
+    }
+
+    /* -------------------------------------------------
+       3. STREAM PRESCRIPTIONS FOR MANY APPOINTMENTS (NDJSON)
+     ------------------------------------------------- */
+    @PostMapping(value = "/batch/{token}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<?> streamPrescriptions(
+            @PathVariable String token,
+            @Valid @RequestBody PrescriptionBatchRequest request
+    ) {
+
+        Map<String, Object> response = new HashMap<>();
+
+        if (!service.validateToken(token, "doctor")) {
+            response.put("message", "Invalid or unauthorized token");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).contentType(MediaType.APPLICATION_JSON).body(response);
+        }
+
+        try {
+            Flux<Map<String, Object>> rows =
+                    prescriptionService.streamPrescriptions(request.getAppointmentIds(), request.getFields());
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(rows);
+        } catch (IllegalArgumentException e) {
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(response);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.project.back_end.events;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * Appointment and doctor lifecycle changes, published on the
+ * {@link DomainEventBus} after the change has been committed.
+ */
+public sealed interface DomainEvent {
+
+    Instant occurredAt();
+
+    // -------------------- APPOINTMENTS --------------------
+
+    record AppointmentBooked(Long appointmentId, Long doctorId, Long patientId,
+                             LocalDateTime appointmentTime, Instant occurredAt) implements DomainEvent {
+
+        public AppointmentBooked(Long appointmentId, Long doctorId, Long patientId, LocalDateTime appointmentTime) {
+            this(appointmentId, doctorId, patientId, appointmentTime, Instant.now());
+        }
+    }
+
+    record AppointmentRescheduled(Long appointmentId, Long patientId, Long previousDoctorId,
+                                  LocalDateTime previousTime, Long doctorId, LocalDateTime appointmentTime,
+                                  Instant occurredAt) implements DomainEvent {
+
+        public AppointmentRescheduled(Long appointmentId, Long patientId, Long previousDoctorId,
+                                      LocalDateTime previousTime, Long doctorId, LocalDateTime appointmentTime) {
+            this(appointmentId, patientId, previousDoctorId, previousTime, doctorId, appointmentTime, Instant.now());
+        }
+    }
+
+    record AppointmentCancelled(Long appointmentId, Long doctorId, Long patientId,
+                                LocalDateTime appointmentTime, Instant occurredAt) implements DomainEvent {
+
+        public AppointmentCancelled(Long appointmentId, Long doctorId, Long patientId, LocalDateTime appointmentTime) {
+            this(appointmentId, doctorId, patientId, appointmentTime, Instant.now());
+        }
+    }
+
+    // -------------------- DOCTORS --------------------
+
+    record DoctorCreated(Long doctorId, Instant occurredAt) implements DomainEvent {
+
+        public DoctorCreated(Long doctorId) {
+            this(doctorId, Instant.now());
+        }
+    }
+
+    record DoctorUpdated(Long doctorId, Instant occurredAt) implements DomainEvent {
+
+        public DoctorUpdated(Long doctorId) {
+            this(doctorId, Instant.now());
+        }
+    }
+
+    record DoctorDeleted(Long doctorId, Instant occurredAt) implements DomainEvent {
+
+        public DoctorDeleted(Long doctorId) {
+            this(doctorId, Instant.now());
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.project.back_end.events;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * In-process bus for {@link DomainEvent}s. Publishing costs the writer one
+ * slot claim in a preallocated {@link EventRingBuffer}; every
+ * {@link DomainEventListener} bean drains the ring on its own thread and
+ * receives events in batches of up to {@code events.batch-size}.
+ *
+ * Events published inside a transaction are enqueued after it commits and
+ * dropped if it rolls back. When the ring is full, {@code events.backpressure}
+ * decides: {@code block} waits up to {@code events.publish-timeout-ms} for a
+ * slot, {@code drop} gives up at once. Either way a writer is never failed
+ * because of a slow listener; lost events are counted.
+ */
+@Component
+public class DomainEventBus implements SmartLifecycle {
+
+    public enum Backpressure { BLOCK, DROP }
+
+    private final ObjectProvider<DomainEventListener> listenerProvider;
+    private final int ringSize;
+    private final int batchSize;
+    private final Backpressure backpressure;
+    private final long publishTimeoutNanos;
+
+    private volatile EventRingBuffer ring;
+    private volatile boolean running;
+    private final List<Consumer> consumers = new ArrayList<>();
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public DomainEventBus(
+            ObjectProvider<DomainEventListener> listenerProvider,
+            @Value("${events.ring-size:4096}") int ringSize,
+            @Value("${events.batch-size:256}") int batchSize,
+            @Value("${events.backpressure:block}") String backpressure,
+            @Value("${events.publish-timeout-ms:50}") long publishTimeoutMs
+    ) {
+        this.listenerProvider = listenerProvider;
+        this.ringSize = ringSize;
+        this.batchSize = Math.max(1, batchSize);
+        this.backpressure = Backpressure.valueOf(backpressure.trim().toUpperCase(Locale.ROOT));
+        this.publishTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(publishTimeoutMs);
+    }
+
+    // -------------------- PUBLISHING --------------------
+
+    /**
+     * Publishes an event once the current transaction commits, or right
+     * away when there is none (e.g. after a repository call that committed
+     * on its own).
+     */
+    public void publish(DomainEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(event);
+                }
+            });
+        } else {
+            enqueue(event);
+        }
+    }
+
+    /**
+     * @return false if the event was dropped because the ring stayed full
+     *         or the bus is not running
+     */
+    boolean enqueue(DomainEvent event) {
+        EventRingBuffer current = ring;
+        if (current == null || !running) {
+            dropped.increment();
+            return false;
+        }
+
+        long sequence = current.tryClaim();
+        if (sequence < 0 && backpressure == Backpressure.BLOCK) {
+            long deadline = System.nanoTime() + publishTimeoutNanos;
+            while (sequence < 0 && System.nanoTime() < deadline) {
+                LockSupport.parkNanos(10_000);
+                sequence = current.tryClaim();
+            }
+        }
+        if (sequence < 0) {
+            dropped.increment();
+            return false;
+        }
+
+        current.publish(sequence, event);
+        published.increment();
+        for (Consumer consumer : consumers) {
+            if (consumer.waiting) {
+                LockSupport.unpark(consumer.thread);
+            }
+        }
+        return true;
+    }
+
+    // -------------------- LIFECYCLE --------------------
+
+    // Listeners are looked up here rather than injected, so they may depend
+    // on the services that publish
+    @Override
+    public synchronized void start() {
+        if (running) return;
+        List<DomainEventListener> listeners = listenerProvider.orderedStream().toList();
+        EventRingBuffer buffer = new EventRingBuffer(ringSize, listeners.size());
+
+        consumers.clear();
+        for (int i = 0; i < listeners.size(); i++) {
+            consumers.add(new Consumer(i, listeners.get(i), buffer));
+        }
+        ring = buffer;
+        running = true;
+        for (Consumer consumer : consumers) {
+            consumer.thread.start();
+        }
+    }
+
+    // Consumers finish the events already published before exiting
+    @Override
+    public synchronized void stop() {
+        if (!running) return;
+        running = false;
+        for (Consumer consumer : consumers) {
+            LockSupport.unpark(consumer.thread);
+        }
+        for (Consumer consumer : consumers) {
+            try {
+                consumer.thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // -------------------- STATISTICS --------------------
+
+    /**
+     * @return published/dropped/failed counters and the current backlog
+     */
+    public Map<String, Long> getStats() {
+        EventRingBuffer current = ring;
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("published", published.sum());
+        stats.put("dropped", dropped.sum());
+        stats.put("failed", failed.sum());
+        stats.put("backlog", current == null ? 0L : current.backlog());
+        return stats;
+    }
+
+    // -------------------- CONSUMERS --------------------
+
+    private final class Consumer implements Runnable {
+
+        final int index;
+        final DomainEventListener listener;
+        final EventRingBuffer buffer;
+        final Thread thread;
+        volatile boolean waiting;
+
+        Consumer(int index, DomainEventListener listener, EventRingBuffer buffer) {
+            this.index = index;
+            this.listener = listener;
+            this.buffer = buffer;
+            this.thread = new Thread(this, "domain-events-" + listener.name());
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            List<DomainEvent> batch = new ArrayList<>(batchSize);
+            List<DomainEvent> view = Collections.unmodifiableList(batch);
+            while (true) {
+                if (buffer.drain(index, batch, batchSize) > 0) {
+                    try {
+                        listener.onEvents(view);
+                    } catch (RuntimeException e) {
+                        failed.add(batch.size());
+                    }
+                    batch.clear();
+                    continue;
+                }
+                if (!running) return;
+
+                // Re-check after announcing the wait so a publish in between
+                // either is seen here or unparks us; stop() unparks too, so
+                // an idle consumer can sleep until there is work
+                waiting = true;
+                if (!buffer.hasAvailable(index) && running) {
+                    LockSupport.park(this);
+                }
+                waiting = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.project.back_end.events;
+
+import java.util.List;
+
+/**
+ * Consumer of domain events. Every listener bean sees every event, in
+ * publication order, on its own thread of the {@link DomainEventBus}.
+ */
+public interface DomainEventListener {
+
+    /**
+     * Handles the events that accumulated since the previous call.
+     * The list is only valid for the duration of the call.
+     *
+     * @param events at least one event, oldest first
+     */
+    void onEvents(List<DomainEvent> events);
+
+    /**
+     * @return name used for the consumer thread
+     */
+    default String name() {
+        return getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,27 @@
+package com.project.back_end.events;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Counts domain events by type ({@code clinic.events{type}}), for
+ * booking/cancellation analytics on the metrics dashboards.
+ */
+@Component
+public class EventMetricsListener implements DomainEventListener {
+
+    private final MeterRegistry meterRegistry;
+
+    public EventMetricsListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void onEvents(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            meterRegistry.counter("clinic.events", "type", event.getClass().getSimpleName()).increment();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.project.back_end.events;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, preallocated multi-producer ring of events with one read
+ * sequence per consumer. Producers claim a sequence with a CAS and then
+ * publish into its slot; a slot is reused only once every consumer has
+ * moved past it.
+ */
+final class EventRingBuffer {
+
+    private final DomainEvent[] entries;
+    private final AtomicLongArray published;
+    private final int mask;
+
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private final AtomicLong[] consumed;
+
+    // Lower bound of the slowest consumer's sequence, refreshed only when
+    // the ring looks full so producers rarely scan all consumers
+    private volatile long slowestConsumed = -1;
+
+    EventRingBuffer(int size, int consumers) {
+        if (size < 2 || Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException("Ring size must be a power of two: " + size);
+        }
+        this.entries = new DomainEvent[size];
+        this.published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            published.set(i, -1);
+        }
+        this.mask = size - 1;
+        this.consumed = new AtomicLong[consumers];
+        for (int i = 0; i < consumers; i++) {
+            consumed[i] = new AtomicLong(-1);
+        }
+    }
+
+    // -------------------- PRODUCERS --------------------
+
+    /**
+     * @return the claimed sequence, or -1 if the ring is full
+     */
+    long tryClaim() {
+        while (true) {
+            long current = claimed.get();
+            long next = current + 1;
+            long wrapPoint = next - entries.length;
+            if (wrapPoint > slowestConsumed) {
+                long slowest = slowestConsumed();
+                slowestConsumed = slowest;
+                if (wrapPoint > slowest) return -1;
+            }
+            if (claimed.compareAndSet(current, next)) return next;
+        }
+    }
+
+    void publish(long sequence, DomainEvent event) {
+        int index = (int) (sequence & mask);
+        entries[index] = event;
+        // Volatile write: makes the entry visible to consumers that see the sequence
+        published.set(index, sequence);
+    }
+
+    // -------------------- CONSUMERS --------------------
+
+    /**
+     * Copies up to {@code max} consecutive published events for a consumer
+     * into {@code batch} and frees their slots.
+     *
+     * @return number of events added
+     */
+    int drain(int consumer, List<DomainEvent> batch, int max) {
+        long next = consumed[consumer].get() + 1;
+        int count = 0;
+        while (count < max) {
+            int index = (int) (next & mask);
+            if (published.get(index) != next) break;
+            batch.add(entries[index]);
+            next++;
+            count++;
+        }
+        if (count > 0) {
+            consumed[consumer].set(next - 1);
+        }
+        return count;
+    }
+
+    boolean hasAvailable(int consumer) {
+        long next = consumed[consumer].get() + 1;
+        return published.get((int) (next & mask)) == next;
+    }
+
+    // -------------------- STATE --------------------
+
+    long backlog() {
+        return claimed.get() - slowestConsumed();
+    }
+
+    int capacity() {
+        return entries.length;
+    }
+
+    private long slowestConsumed() {
+        long slowest = Long.MAX_VALUE;
+        for (AtomicLong sequence : consumed) {
+            slowest = Math.min(slowest, sequence.get());
+        }
+        return slowest == Long.MAX_VALUE ? claimed.get() : slowest;
+    }
+}
@@ -0,0 +1,81 @@
+package com.project.back_end.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.util.Objects;
+
+/**
+ * One published time slot of a doctor, e.g. "09:00-10:00".
+ * The start hour is stored in its own column so time-of-day filters can run
+ * as an indexed SQL predicate instead of parsing the label in Java.
+ */
+@Embeddable
+public class AvailableSlot {
+
+    // Slot label as shown to users
+    @Column(name = "available_time")
+    private String label;
+
+    // Hour of day (0-23) the slot starts at
+    @Column(name = "start_hour")
+    private Integer startHour;
+
+    // ---------------- Constructors ----------------
+
+    protected AvailableSlot() {
+        // Required by JPA
+    }
+
+    public AvailableSlot(String label) {
+        this.label = label;
+        this.startHour = startHourOf(label);
+    }
+
+    // ---------------- Getters ----------------
+
+    public String getLabel() {
+        return label;
+    }
+
+    public Integer getStartHour() {
+        return startHour;
+    }
+
+    // ---------------- Utility Methods ----------------
+
+    /**
+     * Parses the hour from labels like "09:00-10:00" or "09:00".
+     *
+     * @return the start hour, or null if the label is not in that format
+     */
+    static Integer startHourOf(String label) {
+        if (label == null) return null;
+        int colon = label.indexOf(':');
+        if (colon <= 0) return null;
+        try {
+            int hour = Integer.parseInt(label.substring(0, colon).trim());
+            return hour >= 0 && hour < 24 ? hour : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof AvailableSlot slot)) return false;
+        return Objects.equals(label, slot.label) &&
+               Objects.equals(startHour, slot.startHour);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(label, startHour);
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -3,8 +3,9 @@ package com.project.back_end.models;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.hibernate.annotations.BatchSize;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -34,7 +35,7 @@ public class Doctor {
     @Column(unique = true)
     private String email;
 
-    // Password (write-only and hashed for security)
+    // Password (write-only; DoctorService stores a BCrypt hash here)
     @NotNull
     @Size(min = 6)
     @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
@@ -49,10 +50,11 @@ public class Doctor {
     @ElementCollection
     @CollectionTable(
         name = "doctor_available_times",
-        joinColumns = @JoinColumn(name = "doctor_id")
+        joinColumns = @JoinColumn(name = "doctor_id"),
+        indexes = @Index(name = "idx_doctor_slot_start_hour", columnList = "start_hour, doctor_id")
     )
-    @Column(name = "available_time")
-    private List<String> availableTimes;
+    @BatchSize(size = 100)
+    private List<AvailableSlot> availableSlots;
 
     // ---------------- Constructors ----------------
 
@@ -64,9 +66,9 @@ public class Doctor {
         this.name = name;
         this.specialty = specialty;
         this.email = email;
-        setPassword(password); // Hash password
+        this.password = password;
         this.phone = phone;
-        this.availableTimes = availableTimes;
+        setAvailableTimes(availableTimes);
     }
 
     // ---------------- Getters & Setters ----------------
@@ -107,11 +109,9 @@ public class Doctor {
         return password;
     }
 
-    // Hash password before storing
+    // Raw on input; hashed by PasswordHashingService before the doctor is saved
     public void setPassword(String password) {
-        if (password != null) {
-            this.password = new BCryptPasswordEncoder().encode(password);
-        }
+        this.password = password;
     }
 
     public String getPhone() {
@@ -123,11 +123,24 @@ public class Doctor {
     }
 
     public List<String> getAvailableTimes() {
-        return availableTimes == null ? null : Collections.unmodifiableList(availableTimes);
+        if (availableSlots == null) return null;
+        List<String> labels = new ArrayList<>(availableSlots.size());
+        for (AvailableSlot slot : availableSlots) {
+            labels.add(slot.getLabel());
+        }
+        return Collections.unmodifiableList(labels);
     }
 
     public void setAvailableTimes(List<String> availableTimes) {
-        this.availableTimes = availableTimes;
+        if (availableTimes == null) {
+            this.availableSlots = null;
+            return;
+        }
+        List<AvailableSlot> slots = new ArrayList<>(availableTimes.size());
+        for (String time : availableTimes) {
+            slots.add(new AvailableSlot(time));
+        }
+        this.availableSlots = slots;
     }
 
     // ---------------- Utility Methods ----------------
@@ -140,7 +153,7 @@ public class Doctor {
                 ", specialty='" + specialty + '\'' +
                 ", email='" + email + '\'' +
                 ", phone='" + phone + '\'' +
-                ", availableTimes=" + availableTimes +
+                ", availableTimes=" + availableSlots +
                 '}';
     }
 
@@ -1,66 +1,164 @@
 package com.project.back_end.repo;
 
-public interface AppointmentRepository  {
+import com.project.back_end.DTO.AppointmentDTO;
+import com.project.back_end.models.Appointment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
-   // 1. Extend JpaRepository:
-//    - The repository extends JpaRepository<Appointment, Long>, which gives it basic CRUD functionality.
-//    - The methods such as save, delete, update, and find are inherited without the need for explicit implementation.
-//    - JpaRepository also includes pagination and sorting features.
+import java.time.LocalDateTime;
+import java.util.List;
 
-// Example: public interface AppointmentRepository extends JpaRepository<Appointment, Long> {}
+/**
+ * Repository interface for performing CRUD operations on Appointment entities.
+ * Extends JpaRepository to inherit standard data access methods.
+ *
+ * The {@code findSchedule...} queries return {@link AppointmentDTO} rows
+ * through a constructor expression: one statement selecting only the
+ * columns the dashboards render, with no entities in the persistence context.
+ */
+@Repository
+public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
 
-// 2. Custom Query Methods:
+    String SCHEDULE_SELECT =
+            "SELECT new com.project.back_end.DTO.AppointmentDTO(" +
+            "a.id, d.id, d.name, p.id, p.name, p.email, p.phone, p.address, a.appointmentTime, a.status) " +
+            "FROM Appointment a JOIN a.doctor d JOIN a.patient p ";
 
-//    - **findByDoctorIdAndAppointmentTimeBetween**:
-//      - This method retrieves a list of appointments for a specific doctor within a given time range.
-//      - The doctor’s available times are eagerly fetched to avoid lazy loading.
-//      - Return type: List<Appointment>
-//      - Parameters: Long doctorId, LocalDateTime start, LocalDateTime end
-//      - It uses a LEFT JOIN to fetch the doctor’s available times along with the appointments.
+    /**
+     * Finds a doctor's appointments within a time range.
+     *
+     * @param doctorId the doctor's id
+     * @param start range start (inclusive)
+     * @param end range end (inclusive)
+     * @return matching appointments
+     */
+    List<Appointment> findByDoctorIdAndAppointmentTimeBetween(
+            Long doctorId, LocalDateTime start, LocalDateTime end);
 
-//    - **findByDoctorIdAndPatient_NameContainingIgnoreCaseAndAppointmentTimeBetween**:
-//      - This method retrieves appointments for a specific doctor and patient name (ignoring case) within a given time range.
-//      - It performs a LEFT JOIN to fetch both the doctor and patient details along with the appointment times.
-//      - Return type: List<Appointment>
-//      - Parameters: Long doctorId, String patientName, LocalDateTime start, LocalDateTime end
+    /**
+     * Finds a doctor's appointments within a time range whose patient name
+     * contains the given text, ignoring case.
+     *
+     * @param doctorId the doctor's id
+     * @param patientName part of the patient's name
+     * @param start range start (inclusive)
+     * @param end range end (inclusive)
+     * @return matching appointments
+     */
+    List<Appointment> findByDoctorIdAndPatient_NameContainingIgnoreCaseAndAppointmentTimeBetween(
+            Long doctorId, String patientName, LocalDateTime start, LocalDateTime end);
 
-//    - **deleteAllByDoctorId**:
-//      - This method deletes all appointments associated with a particular doctor.
-//      - It is marked as @Modifying and @Transactional, which makes it a modification query, ensuring that the operation is executed within a transaction.
-//      - Return type: void
-//      - Parameters: Long doctorId
+    /**
+     * A doctor's schedule within a time range as dashboard rows, ordered by time.
+     *
+     * @param doctorId the doctor's id
+     * @param start range start (inclusive)
+     * @param end range end (inclusive)
+     * @return one row per appointment
+     */
+    @Query(SCHEDULE_SELECT +
+           "WHERE d.id = :doctorId AND a.appointmentTime BETWEEN :start AND :end " +
+           "ORDER BY a.appointmentTime")
+    List<AppointmentDTO> findScheduleByDoctorIdAndAppointmentTimeBetween(
+            @Param("doctorId") Long doctorId,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
+    );
 
-//    - **findByPatientId**:
-//      - This method retrieves all appointments for a specific patient.
-//      - Return type: List<Appointment>
-//      - Parameters: Long patientId
+    /**
+     * Like {@link #findScheduleByDoctorIdAndAppointmentTimeBetween}, narrowed
+     * in SQL to patients whose name contains the given text, ignoring case.
+     * {@code %} and {@code _} in the text match themselves.
+     *
+     * @param doctorId the doctor's id
+     * @param patientName part of the patient's name
+     * @param start range start (inclusive)
+     * @param end range end (inclusive)
+     * @return one row per matching appointment
+     */
+    @Query(SCHEDULE_SELECT +
+           "WHERE d.id = :doctorId AND a.appointmentTime BETWEEN :start AND :end " +
+           "AND LOWER(p.name) LIKE LOWER(CONCAT('%', :#{escape(#patientName)}, '%')) ESCAPE :#{escapeCharacter()} " +
+           "ORDER BY a.appointmentTime")
+    List<AppointmentDTO> findScheduleByDoctorIdAndPatient_NameContainingIgnoreCaseAndAppointmentTimeBetween(
+            @Param("doctorId") Long doctorId,
+            @Param("patientName") String patientName,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
+    );
 
-//    - **findByPatient_IdAndStatusOrderByAppointmentTimeAsc**:
-//      - This method retrieves all appointments for a specific patient with a given status, ordered by the appointment time.
-//      - Return type: List<Appointment>
-//      - Parameters: Long patientId, int status
+    /**
+     * Deletes every appointment of a doctor.
+     *
+     * @param doctorId the doctor's id
+     */
+    @Modifying
+    @Transactional
+    void deleteAllByDoctorId(Long doctorId);
 
-//    - **filterByDoctorNameAndPatientId**:
-//      - This method retrieves appointments based on a doctor’s name (using a LIKE query) and the patient’s ID.
-//      - Return type: List<Appointment>
-//      - Parameters: String doctorName, Long patientId
+    /**
+     * Finds all appointments of a patient.
+     *
+     * @param patientId the patient's id
+     * @return matching appointments
+     */
+    List<Appointment> findByPatientId(Long patientId);
 
-//    - **filterByDoctorNameAndPatientIdAndStatus**:
-//      - This method retrieves appointments based on a doctor’s name (using a LIKE query), patient’s ID, and a specific appointment status.
-//      - Return type: List<Appointment>
-//      - Parameters: String doctorName, Long patientId, int status
+    /**
+     * Finds a patient's appointments with the given status, earliest first.
+     *
+     * @param patientId the patient's id
+     * @param status 0 = scheduled, 1 = completed
+     * @return matching appointments
+     */
+    List<Appointment> findByPatient_IdAndStatusOrderByAppointmentTimeAsc(Long patientId, int status);
 
-//    - **updateStatus**:
-//      - This method updates the status of a specific appointment based on its ID.
-//      - Return type: void
-//      - Parameters: int status, long id
+    /**
+     * Finds a patient's appointments with doctors whose name contains the
+     * given text, ignoring case. {@code %} and {@code _} in the text match
+     * themselves.
+     *
+     * @param doctorName part of the doctor's name
+     * @param patientId the patient's id
+     * @return matching appointments
+     */
+    @Query("SELECT a FROM Appointment a " +
+           "WHERE LOWER(a.doctor.name) LIKE LOWER(CONCAT('%', :#{escape(#doctorName)}, '%')) ESCAPE :#{escapeCharacter()} " +
+           "AND a.patient.id = :patientId")
+    List<Appointment> filterByDoctorNameAndPatientId(
+            @Param("doctorName") String doctorName,
+            @Param("patientId") Long patientId
+    );
 
-// 3. @Modifying and @Transactional annotations:
-//    - The @Modifying annotation is used to indicate that the method performs a modification operation (like DELETE or UPDATE).
-//    - The @Transactional annotation ensures that the modification is done within a transaction, meaning that if any exception occurs, the changes will be rolled back.
-
-// 4. @Repository annotation:
-//    - The @Repository annotation marks this interface as a Spring Data JPA repository.
-//    - Spring Data JPA automatically implements this repository, providing the necessary CRUD functionality and custom queries defined in the interface.
+    /**
+     * Like {@link #filterByDoctorNameAndPatientId}, restricted to one status.
+     *
+     * @param doctorName part of the doctor's name
+     * @param patientId the patient's id
+     * @param status 0 = scheduled, 1 = completed
+     * @return matching appointments
+     */
+    @Query("SELECT a FROM Appointment a " +
+           "WHERE LOWER(a.doctor.name) LIKE LOWER(CONCAT('%', :#{escape(#doctorName)}, '%')) ESCAPE :#{escapeCharacter()} " +
+           "AND a.patient.id = :patientId AND a.status = :status")
+    List<Appointment> filterByDoctorNameAndPatientIdAndStatus(
+            @Param("doctorName") String doctorName,
+            @Param("patientId") Long patientId,
+            @Param("status") int status
+    );
 
+    /**
+     * Sets the status of one appointment.
+     *
+     * @param status new status
+     * @param id the appointment's id
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Appointment a SET a.status = :status WHERE a.id = :id")
+    void updateStatus(@Param("status") int status, @Param("id") long id);
 }
@@ -1,39 +1,128 @@
 package com.project.back_end.repo;
 
-public interface DoctorRepository {
-   // 1. Extend JpaRepository:
-//    - The repository extends JpaRepository<Doctor, Long>, which gives it basic CRUD functionality.
-//    - This allows the repository to perform operations like save, delete, update, and find without needing to implement these methods manually.
-//    - JpaRepository also includes features like pagination and sorting.
-
-// Example: public interface DoctorRepository extends JpaRepository<Doctor, Long> {}
-
-// 2. Custom Query Methods:
-
-//    - **findByEmail**:
-//      - This method retrieves a Doctor by their email.
-//      - Return type: Doctor
-//      - Parameters: String email
-
-//    - **findByNameLike**:
-//      - This method retrieves a list of Doctors whose name contains the provided search string (case-sensitive).
-//      - The `CONCAT('%', :name, '%')` is used to create a pattern for partial matching.
-//      - Return type: List<Doctor>
-//      - Parameters: String name
-
-//    - **findByNameContainingIgnoreCaseAndSpecialtyIgnoreCase**:
-//      - This method retrieves a list of Doctors where the name contains the search string (case-insensitive) and the specialty matches exactly (case-insensitive).
-//      - It combines both fields for a more specific search.
-//      - Return type: List<Doctor>
-//      - Parameters: String name, String specialty
-
-//    - **findBySpecialtyIgnoreCase**:
-//      - This method retrieves a list of Doctors with the specified specialty, ignoring case sensitivity.
-//      - Return type: List<Doctor>
-//      - Parameters: String specialty
-
-// 3. @Repository annotation:
-//    - The @Repository annotation marks this interface as a Spring Data JPA repository.
-//    - Spring Data JPA automatically implements this repository, providing the necessary CRUD functionality and custom queries defined in the interface.
-
-}
\ No newline at end of file
+import com.project.back_end.models.Doctor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for performing CRUD operations on Doctor entities.
+ * Extends JpaRepository to inherit standard data access methods.
+ *
+ * List queries fetch {@code availableSlots} through an entity graph so a
+ * listing costs one SQL statement instead of one per doctor.
+ */
+@Repository
+public interface DoctorRepository extends JpaRepository<Doctor, Long> {
+
+    String SLOTS = "availableSlots";
+
+    /**
+     * Returns all doctors together with their available slots.
+     *
+     * @return every doctor
+     */
+    @Override
+    @EntityGraph(attributePaths = SLOTS)
+    List<Doctor> findAll();
+
+    /**
+     * Returns the doctors with the given ids together with their available
+     * slots, in no particular order.
+     *
+     * @param ids doctor ids
+     * @return the doctors that exist
+     */
+    @EntityGraph(attributePaths = SLOTS)
+    List<Doctor> findByIdIn(Collection<Long> ids);
+
+    /**
+     * Finds a doctor by their email address.
+     *
+     * @param email the email of the doctor
+     * @return the doctor, or null if none matches
+     */
+    Doctor findByEmail(String email);
+
+    /**
+     * Finds doctors whose name matches the given LIKE pattern (case-sensitive).
+     *
+     * @param name pattern, e.g. "%smith%"
+     * @return matching doctors
+     */
+    @EntityGraph(attributePaths = SLOTS)
+    List<Doctor> findByNameLike(String name);
+
+    /**
+     * Finds doctors whose name contains the search string and whose specialty
+     * matches exactly, both ignoring case.
+     *
+     * @param name part of the doctor's name
+     * @param specialty the specialty
+     * @return matching doctors
+     */
+    @EntityGraph(attributePaths = SLOTS)
+    List<Doctor> findByNameContainingIgnoreCaseAndSpecialtyIgnoreCase(String name, String specialty);
+
+    /**
+     * Finds doctors whose name contains the search string, ignoring case.
+     *
+     * @param name part of the doctor's name
+     * @return matching doctors
+     */
+    @EntityGraph(attributePaths = SLOTS)
+    List<Doctor> findByNameContainingIgnoreCase(String name);
+
+    /**
+     * Finds doctors with the given specialty, ignoring case.
+     *
+     * @param specialty the specialty
+     * @return matching doctors
+     */
+    @EntityGraph(attributePaths = SLOTS)
+    List<Doctor> findBySpecialtyIgnoreCase(String specialty);
+
+    /**
+     * Keyset page of doctors ordered by id, used by the paginated listing.
+     * No entity graph here: fetch-joining a collection would make Hibernate
+     * apply the limit in memory. Slots are batch-fetched instead.
+     *
+     * @param id last id of the previous page (0 for the first page)
+     * @param limit maximum number of doctors to return
+     * @return doctors with an id greater than {@code id}
+     */
+    List<Doctor> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Finds doctors that publish at least one slot starting in
+     * {@code [fromHour, toHour)}, optionally narrowed by name and specialty.
+     * The hour range is matched against the indexed {@code start_hour}
+     * column of {@code doctor_available_times}, so only matching doctors
+     * are loaded.
+     *
+     * @param name part of the doctor's name, or null for any; {@code %} and
+     *             {@code _} match themselves
+     * @param specialty the specialty, or null for any
+     * @param fromHour first start hour to accept (inclusive)
+     * @param toHour last start hour to accept (exclusive)
+     * @return matching doctors
+     */
+    @EntityGraph(attributePaths = SLOTS)
+    @Query("SELECT d FROM Doctor d " +
+           "WHERE (:name IS NULL OR LOWER(d.name) LIKE LOWER(CONCAT('%', :#{#name == null ? null : escape(#name)}, '%')) ESCAPE :#{escapeCharacter()}) " +
+           "AND (:specialty IS NULL OR LOWER(d.specialty) = LOWER(:specialty)) " +
+           "AND EXISTS (SELECT 1 FROM d.availableSlots s " +
+           "            WHERE s.startHour >= :fromHour AND s.startHour < :toHour)")
+    List<Doctor> findAvailableBetweenHours(
+            @Param("name") String name,
+            @Param("specialty") String specialty,
+            @Param("fromHour") int fromHour,
+            @Param("toHour") int toHour
+    );
+}
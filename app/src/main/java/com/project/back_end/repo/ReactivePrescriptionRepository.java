@@ -0,0 +1,22 @@
+package com.project.back_end.repo;
+
+import com.project.back_end.models.Prescription;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Non-blocking counterpart of {@link PrescriptionRepository} on the reactive
+ * Mongo driver, used by the reactive prescription endpoints.
+ */
+@Repository
+public interface ReactivePrescriptionRepository extends ReactiveMongoRepository<Prescription, String> {
+
+    /**
+     * Finds the prescriptions written for an appointment.
+     *
+     * @param appointmentId the appointment's id
+     * @return matching prescriptions (at most one)
+     */
+    Flux<Prescription> findByAppointmentId(Long appointmentId);
+}
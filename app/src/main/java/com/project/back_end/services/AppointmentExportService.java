@@ -0,0 +1,237 @@
+package com.project.back_end.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming export of appointments for billing. Rows are read from a
+ * forward-only, read-only result set that MySQL Connector/J streams row by
+ * row (fetch size {@link Integer#MIN_VALUE}), and written to the response as
+ * they arrive, so memory use does not grow with the number of rows exported.
+ * Only the exported columns are selected; no entities are loaded.
+ *
+ * Streaming is set on this statement only, so every other query keeps the
+ * driver's default of reading the whole result at once. The connection
+ * cannot run another statement until the export has read every row.
+ */
+@Service
+public class AppointmentExportService {
+
+    /** Rows written between explicit flushes to the client. */
+    private static final int FLUSH_EVERY = 500;
+
+    private static final String CSV_HEADER = "id,doctorId,doctorName,patientId,appointmentTime,status";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTx;
+    private final ObjectMapper objectMapper;
+
+    public AppointmentExportService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    public enum Format {
+        NDJSON, CSV;
+
+        /**
+         * @throws IllegalArgumentException for anything but "ndjson" or "csv"
+         */
+        public static Format of(String value) {
+            if (value == null) return NDJSON;
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(value.trim())) return format;
+            }
+            throw new IllegalArgumentException("Unknown export format: " + value);
+        }
+    }
+
+    // -------------------- EXPORT --------------------
+
+    /**
+     * Writes matching appointments, ordered by time, to {@code out}.
+     *
+     * @param doctorId only this doctor's appointments, or null for all
+     * @param from first day to include, or null for no lower bound
+     * @param to last day to include, or null for no upper bound
+     * @param format output format
+     * @param out response stream; not closed
+     * @return number of rows written
+     */
+    public long export(Long doctorId, LocalDate from, LocalDate to, Format format, OutputStream out)
+            throws IOException {
+
+        StringBuilder sql = new StringBuilder(
+                "SELECT a.id, a.doctor_id, d.name AS doctor_name, a.patient_id, a.appointment_time, a.status " +
+                "FROM appointment a JOIN doctors d ON d.id = a.doctor_id WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (doctorId != null) {
+            sql.append(" AND a.doctor_id = ?");
+            args.add(doctorId);
+        }
+        if (from != null) {
+            sql.append(" AND a.appointment_time >= ?");
+            args.add(Timestamp.valueOf(from.atStartOfDay()));
+        }
+        if (to != null) {
+            sql.append(" AND a.appointment_time < ?");
+            args.add(Timestamp.valueOf(to.plusDays(1).atStartOfDay()));
+        }
+        sql.append(" ORDER BY a.appointment_time, a.id");
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        RowWriter rows = format == Format.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+
+        try {
+            readOnlyTx.executeWithoutResult(status -> jdbcTemplate.query(
+                    connection -> {
+                        PreparedStatement ps = connection.prepareStatement(
+                                sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                        ps.setFetchSize(Integer.MIN_VALUE);
+                        for (int i = 0; i < args.size(); i++) {
+                            ps.setObject(i + 1, args.get(i));
+                        }
+                        return ps;
+                    },
+                    rows));
+        } catch (UncheckedIOException e) {
+            // Client went away mid-export; closing the cursor was all that was left to do
+            throw e.getCause();
+        }
+
+        rows.finish();
+        writer.flush();
+        return rows.count;
+    }
+
+    // -------------------- ROW WRITERS --------------------
+
+    private abstract static class RowWriter implements RowCallbackHandler {
+
+        final Writer writer;
+        long count;
+
+        RowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            try {
+                write(rs);
+                if (++count % FLUSH_EVERY == 0) {
+                    flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        abstract void write(ResultSet rs) throws SQLException, IOException;
+
+        void flush() throws IOException {
+            writer.flush();
+        }
+
+        void finish() throws IOException {
+        }
+    }
+
+    private final class NdjsonRowWriter extends RowWriter {
+
+        private final JsonGenerator json;
+
+        NdjsonRowWriter(Writer writer) throws IOException {
+            super(writer);
+            this.json = objectMapper.getFactory().createGenerator(writer);
+            this.json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        @Override
+        void write(ResultSet rs) throws SQLException, IOException {
+            json.writeStartObject();
+            json.writeNumberField("id", rs.getLong("id"));
+            json.writeNumberField("doctorId", rs.getLong("doctor_id"));
+            json.writeStringField("doctorName", rs.getString("doctor_name"));
+            long patientId = rs.getLong("patient_id");
+            if (rs.wasNull()) json.writeNullField("patientId");
+            else json.writeNumberField("patientId", patientId);
+            json.writeStringField("appointmentTime",
+                    rs.getTimestamp("appointment_time").toLocalDateTime().toString());
+            json.writeNumberField("status", rs.getInt("status"));
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }
+
+        @Override
+        void flush() throws IOException {
+            json.flush();
+        }
+
+        @Override
+        void finish() throws IOException {
+            json.flush();
+        }
+    }
+
+    private static final class CsvRowWriter extends RowWriter {
+
+        CsvRowWriter(Writer writer) throws IOException {
+            super(writer);
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        @Override
+        void write(ResultSet rs) throws SQLException, IOException {
+            writer.write(Long.toString(rs.getLong("id")));
+            writer.write(',');
+            writer.write(Long.toString(rs.getLong("doctor_id")));
+            writer.write(',');
+            writer.write(escape(rs.getString("doctor_name")));
+            writer.write(',');
+            String patientId = rs.getString("patient_id");
+            writer.write(patientId == null ? "" : patientId);
+            writer.write(',');
+            writer.write(rs.getTimestamp("appointment_time").toLocalDateTime().toString());
+            writer.write(',');
+            writer.write(Integer.toString(rs.getInt("status")));
+            writer.write('\n');
+        }
+
+        private static String escape(String value) {
+            if (value == null) return "";
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                    && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+}
@@ -0,0 +1,376 @@
+package com.project.back_end.services;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.JsonEOFException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.back_end.events.DomainEvent;
+import com.project.back_end.events.DomainEventBus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Bulk import of appointments, e.g. when migrating a partner clinic's
+ * schedule. Rows are streamed from JSON or CSV, validated against the
+ * doctors' schedules and inserted with plain JDBC batches, bypassing
+ * Hibernate (whose IDENTITY ids disable insert batching).
+ * A bad row is reported and skipped; it never aborts the import.
+ * Every imported row is published as {@link DomainEvent.AppointmentBooked}
+ * once its batch has committed.
+ */
+@Service
+public class AppointmentImportService {
+
+    /** Failures beyond this many are counted but not listed individually. */
+    private static final int MAX_REPORTED_FAILURES = 1000;
+
+    /** Doctor/day booking sets kept per import before they are dropped and reloaded. */
+    private static final int MAX_LOADED_DAYS = 10_000;
+
+    private static final String BOOKED_SQL =
+            "SELECT appointment_time FROM appointment " +
+            "WHERE doctor_id = ? AND appointment_time >= ? AND appointment_time < ?";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO appointment (doctor_id, patient_id, appointment_time, status) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DoctorAvailabilityIndex availabilityIndex;
+    private final DomainEventBus events;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    public AppointmentImportService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            DoctorAvailabilityIndex availabilityIndex,
+            DomainEventBus events,
+            ObjectMapper objectMapper,
+            @Value("${appointment.import.batch-size:1000}") int batchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.availabilityIndex = availabilityIndex;
+        this.events = events;
+        this.objectMapper = objectMapper;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * One appointment to import. Status defaults to 0 (scheduled).
+     */
+    public record ImportRow(Long doctorId, Long patientId, LocalDateTime appointmentTime, Integer status) {
+    }
+
+    // -------------------- ENTRY POINTS --------------------
+
+    /**
+     * Imports a JSON array of {@link ImportRow} objects, reading it as a stream.
+     * A row with bad values (wrong type, unparseable date) fails on its own;
+     * only broken JSON syntax ends the import early, which the report says
+     * under "stopped".
+     *
+     * @return report with "total", "imported", "failed" and "failures"
+     */
+    public Map<String, Object> importJson(InputStream in) throws IOException {
+        Import run = new Import();
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array of appointments");
+            }
+            JsonStreamContext array = parser.getParsingContext();
+            try {
+                JsonToken token;
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    if (token == null) {
+                        throw new JsonEOFException(parser, null, "Unexpected end of input");
+                    }
+                    int rowNumber = run.total + 1;
+                    if (token != JsonToken.START_OBJECT) {
+                        parser.skipChildren();
+                        run.total++;
+                        run.fail(rowNumber, "Expected an appointment object");
+                        continue;
+                    }
+                    try {
+                        run.accept(rowNumber, objectMapper.readValue(parser, ImportRow.class));
+                    } catch (JsonMappingException e) {
+                        // Well-formed JSON with bad values: skip to the end of this row
+                        skipToEndOfRow(parser, array);
+                        run.total++;
+                        run.fail(rowNumber, "Invalid row: " + e.getOriginalMessage());
+                    }
+                }
+            } catch (JsonParseException e) {
+                // The stream position is unknown after broken syntax, so stop here.
+                // Rows are counted once read, so the broken one is the next.
+                run.total++;
+                run.fail(run.total, "Malformed JSON: " + e.getOriginalMessage());
+                run.stopped = "Malformed JSON at row " + run.total + "; the remaining rows were not read";
+            }
+        }
+        return run.finish();
+    }
+
+    private static void skipToEndOfRow(JsonParser parser, JsonStreamContext array) throws IOException {
+        while (parser.getParsingContext() != array) {
+            JsonToken token = parser.currentToken();
+            if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+                parser.skipChildren();
+            }
+            if (parser.getParsingContext() == array) break;
+            if (parser.nextToken() == null) {
+                throw new JsonEOFException(parser, null, "Unexpected end of input");
+            }
+        }
+    }
+
+    /**
+     * Imports CSV lines of {@code doctorId,patientId,appointmentTime[,status]}
+     * with an optional header line, reading it as a stream.
+     *
+     * @return report with "total", "imported", "failed" and "failures"
+     */
+    public Map<String, Object> importCsv(InputStream in) throws IOException {
+        Import run = new Import();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            boolean first = true;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+                if (first && !Character.isDigit(line.trim().charAt(0))) {
+                    first = false;
+                    continue; // header
+                }
+                first = false;
+
+                int rowNumber = run.total + 1;
+                ImportRow row;
+                try {
+                    row = parseCsv(line);
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    run.total++;
+                    run.fail(rowNumber, "Malformed CSV line: " + e.getMessage());
+                    continue;
+                }
+                run.accept(rowNumber, row);
+            }
+        }
+        return run.finish();
+    }
+
+    private ImportRow parseCsv(String line) {
+        String[] cols = line.split(",");
+        if (cols.length < 3) {
+            throw new IllegalArgumentException("expected doctorId,patientId,appointmentTime[,status]");
+        }
+        return new ImportRow(
+                Long.valueOf(cols[0].trim()),
+                Long.valueOf(cols[1].trim()),
+                LocalDateTime.parse(cols[2].trim()),
+                cols.length > 3 && !cols[3].isBlank() ? Integer.valueOf(cols[3].trim()) : null
+        );
+    }
+
+    // -------------------- IMPORT RUN --------------------
+
+    /**
+     * State of one import: the pending batch, the booked slots of every
+     * doctor and day it touched, and the running counts.
+     */
+    private final class Import {
+
+        int total;
+        int imported;
+        int failed;
+        String stopped;
+        final List<Map<String, Object>> failures = new ArrayList<>();
+
+        final List<ImportRow> batch = new ArrayList<>(batchSize);
+        final List<Integer> batchRowNumbers = new ArrayList<>(batchSize);
+        // Loaded with one query per doctor and day, then kept current with
+        // the rows this import takes, so validating a row never queries
+        final Map<DoctorDay, Booked> bookedByDay = new HashMap<>();
+
+        void accept(int rowNumber, ImportRow row) {
+            total++;
+            String error = validate(row);
+            if (error != null) {
+                fail(rowNumber, error);
+                return;
+            }
+
+            batch.add(row);
+            batchRowNumbers.add(rowNumber);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        String validate(ImportRow row) {
+            if (row.doctorId() == null || row.patientId() == null || row.appointmentTime() == null) {
+                return "doctorId, patientId and appointmentTime are required";
+            }
+            if (!row.appointmentTime().isAfter(LocalDateTime.now())) {
+                return "Appointment time must be in the future";
+            }
+            if (!availabilityIndex.isOnSchedule(row.doctorId(), row.appointmentTime().toLocalTime())) {
+                return "Slot is not on the doctor's schedule";
+            }
+
+            LocalDateTime slot = row.appointmentTime().truncatedTo(ChronoUnit.MINUTES);
+            Booked booked = bookedOn(new DoctorDay(row.doctorId(), slot.toLocalDate()));
+            if (booked.existing.contains(slot)) {
+                return "Slot is already booked";
+            }
+            if (!booked.imported.add(slot)) {
+                return "Duplicate slot within this import";
+            }
+            return null;
+        }
+
+        Booked bookedOn(DoctorDay key) {
+            Booked booked = bookedByDay.get(key);
+            if (booked != null) return booked;
+
+            if (bookedByDay.size() >= MAX_LOADED_DAYS) {
+                // Once flushed, the rows taken so far are in the database and
+                // come back with the next load
+                flush();
+                bookedByDay.clear();
+            }
+            booked = new Booked();
+            for (Timestamp time : jdbcTemplate.queryForList(BOOKED_SQL, Timestamp.class, key.doctorId(),
+                    Timestamp.valueOf(key.day().atStartOfDay()), Timestamp.valueOf(key.day().plusDays(1).atStartOfDay()))) {
+                booked.existing.add(time.toLocalDateTime().truncatedTo(ChronoUnit.MINUTES));
+            }
+            bookedByDay.put(key, booked);
+            return booked;
+        }
+
+        void flush() {
+            if (batch.isEmpty()) return;
+            try {
+                KeyHolder keys = new GeneratedKeyHolder();
+                transactionTemplate.executeWithoutResult(status ->
+                        jdbcTemplate.batchUpdate(
+                                connection -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                                new BatchPreparedStatementSetter() {
+                                    @Override
+                                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                                        setRow(ps, batch.get(i));
+                                    }
+
+                                    @Override
+                                    public int getBatchSize() {
+                                        return batch.size();
+                                    }
+                                },
+                                keys));
+                List<Map<String, Object>> ids = keys.getKeyList();
+                for (int i = 0; i < batch.size(); i++) {
+                    booked(batch.get(i), i < ids.size() ? idOf(ids.get(i)) : null);
+                }
+            } catch (DataAccessException e) {
+                // Fall back to row-by-row so only the offending rows fail
+                for (int i = 0; i < batch.size(); i++) {
+                    insertOne(batchRowNumbers.get(i), batch.get(i));
+                }
+            }
+            batch.clear();
+            batchRowNumbers.clear();
+        }
+
+        void insertOne(int rowNumber, ImportRow row) {
+            try {
+                KeyHolder key = new GeneratedKeyHolder();
+                jdbcTemplate.update(connection -> {
+                    PreparedStatement ps = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS);
+                    setRow(ps, row);
+                    return ps;
+                }, key);
+                booked(row, key.getKeyList().isEmpty() ? null : idOf(key.getKeyList().get(0)));
+            } catch (DataAccessException e) {
+                fail(rowNumber, NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            }
+        }
+
+        void setRow(PreparedStatement ps, ImportRow row) throws SQLException {
+            ps.setLong(1, row.doctorId());
+            ps.setLong(2, row.patientId());
+            ps.setTimestamp(3, Timestamp.valueOf(row.appointmentTime()));
+            ps.setInt(4, row.status() == null ? 0 : row.status());
+        }
+
+        // Called once the row is committed
+        void booked(ImportRow row, Long appointmentId) {
+            imported++;
+            availabilityIndex.markBooked(row.doctorId(), row.appointmentTime());
+            events.publish(new DomainEvent.AppointmentBooked(
+                    appointmentId, row.doctorId(), row.patientId(), row.appointmentTime()));
+        }
+
+        // The driver names the key column after itself (GENERATED_KEY on MySQL)
+        Long idOf(Map<String, Object> key) {
+            Object id = key.isEmpty() ? null : key.values().iterator().next();
+            return id instanceof Number number ? number.longValue() : null;
+        }
+
+        void fail(int rowNumber, String message) {
+            failed++;
+            if (failures.size() < MAX_REPORTED_FAILURES) {
+                Map<String, Object> failure = new LinkedHashMap<>();
+                failure.put("row", rowNumber);
+                failure.put("message", message);
+                failures.add(failure);
+            }
+        }
+
+        Map<String, Object> finish() {
+            flush();
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("total", total);
+            report.put("imported", imported);
+            report.put("failed", failed);
+            report.put("failures", failures);
+            if (stopped != null) report.put("stopped", stopped);
+            return report;
+        }
+    }
+
+    private record DoctorDay(Long doctorId, LocalDate day) {
+    }
+
+    /** Slot starts of one doctor and day: already in the database, and taken by this import. */
+    private static final class Booked {
+        final Set<LocalDateTime> existing = new HashSet<>();
+        final Set<LocalDateTime> imported = new HashSet<>();
+    }
+}
@@ -1,21 +1,28 @@
 package com.project.back_end.services;
 
+import com.project.back_end.DTO.AppointmentDTO;
+import com.project.back_end.events.DomainEvent;
+import com.project.back_end.events.DomainEventBus;
 import com.project.back_end.models.Appointment;
 import com.project.back_end.models.Doctor;
 import com.project.back_end.models.Patient;
-import com.project.back_end.repositories.AppointmentRepository;
-import com.project.back_end.repositories.DoctorRepository;
-import com.project.back_end.repositories.PatientRepository;
+import com.project.back_end.repo.AppointmentRepository;
+import com.project.back_end.repo.DoctorRepository;
+import com.project.back_end.repo.PatientRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
+@Timed("clinic.service")
 public class AppointmentService {
 
     @Autowired
@@ -30,13 +37,80 @@ public class AppointmentService {
     @Autowired
     private TokenService tokenService;
 
+    @Autowired
+    private DoctorAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private SlotHoldRegistry slotHolds;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private DomainEventBus events;
+
+    /* -------------------- HOLD SLOT -------------------- */
+
+    /**
+     * Places a short-lived hold on a free slot of the doctor's schedule.
+     *
+     * @return hold id to pass to {@link #bookAppointment(Appointment, String)},
+     *         or null if the slot is not published, already booked or held
+     */
+    public String holdSlot(Long doctorId, LocalDateTime appointmentTime) {
+        if (!availabilityIndex.isSlotFree(doctorId, appointmentTime)) {
+            return null;
+        }
+        return slotHolds.hold(doctorId, appointmentTime);
+    }
+
+    public long getHoldExpiry(String holdId) {
+        return slotHolds.expiresAt(holdId);
+    }
+
     /* -------------------- BOOK APPOINTMENT -------------------- */
     public int bookAppointment(Appointment appointment) {
+        return bookAppointment(appointment, null);
+    }
+
+    /**
+     * Books an appointment, confirming the given hold. Without a hold id a
+     * hold is taken for the duration of the insert.
+     *
+     * @return 1 if booked, -1 if the slot is taken or the hold is not valid, 0 on error
+     */
+    public int bookAppointment(Appointment appointment, String holdId) {
+        int result = doBookAppointment(appointment, holdId);
+        meterRegistry.counter("clinic.appointments.bookings", "outcome",
+                result == 1 ? "booked" : result == -1 ? "conflict" : "error").increment();
+        return result;
+    }
+
+    private int doBookAppointment(Appointment appointment, String holdId) {
+        String hold = holdId;
         try {
-            appointmentRepository.save(appointment);
+            Long doctorId = appointment.getDoctor().getId();
+            LocalDateTime time = appointment.getAppointmentTime();
+
+            if (hold == null) {
+                hold = holdSlot(doctorId, time);
+                if (hold == null) return -1;
+            } else if (!slotHolds.isHeld(hold, doctorId, time)) {
+                return -1;
+            }
+
+            Appointment saved = appointmentRepository.save(appointment);
+            availabilityIndex.markBooked(saved.getDoctor().getId(), saved.getAppointmentTime());
+            events.publish(new DomainEvent.AppointmentBooked(
+                    saved.getId(), doctorId, saved.getPatient().getId(), time));
             return 1;
+        } catch (DataIntegrityViolationException e) {
+            // uk_appointment_doctor_time: booked by another instance
+            return -1;
         } catch (Exception e) {
             return 0;
+        } finally {
+            slotHolds.release(hold);
         }
     }
 
@@ -56,7 +130,36 @@ public class AppointmentService {
         // Optional validation hook (if implemented elsewhere)
         // service.validateAppointment(appointment);
 
-        appointmentRepository.save(appointment);
+        Appointment existing = existingOpt.get();
+        Long previousDoctorId = existing.getDoctor().getId();
+        LocalDateTime previousTime = existing.getAppointmentTime();
+        Long doctorId = appointment.getDoctor().getId();
+        LocalDateTime time = appointment.getAppointmentTime();
+
+        // Moving to another slot claims it the way a booking does
+        String hold = null;
+        if (!Objects.equals(previousDoctorId, doctorId) || !Objects.equals(previousTime, time)) {
+            hold = holdSlot(doctorId, time);
+            if (hold == null) {
+                response.put("message", "Slot is not available");
+                return ResponseEntity.status(409).body(response);
+            }
+        }
+
+        try {
+            Appointment saved = appointmentRepository.save(appointment);
+            availabilityIndex.markFree(previousDoctorId, previousTime);
+            availabilityIndex.markBooked(saved.getDoctor().getId(), saved.getAppointmentTime());
+            events.publish(new DomainEvent.AppointmentRescheduled(saved.getId(), saved.getPatient().getId(),
+                    previousDoctorId, previousTime, saved.getDoctor().getId(), saved.getAppointmentTime()));
+        } catch (DataIntegrityViolationException e) {
+            // uk_appointment_doctor_time: booked by another instance
+            response.put("message", "Slot is not available");
+            return ResponseEntity.status(409).body(response);
+        } finally {
+            slotHolds.release(hold);
+        }
+
         response.put("message", "Appointment updated successfully");
         return ResponseEntity.ok(response);
     }
@@ -75,7 +178,7 @@ public class AppointmentService {
 
         Appointment appointment = appointmentOpt.get();
 
-        Long patientIdFromToken = tokenService.getUserIdFromToken(token);
+        Long patientIdFromToken = patientIdFromToken(token);
 
         if (!appointment.getPatient().getId().equals(patientIdFromToken)) {
             response.put("message", "Unauthorized to cancel this appointment");
@@ -83,11 +186,15 @@ public class AppointmentService {
         }
 
         appointmentRepository.delete(appointment);
+        availabilityIndex.markFree(appointment.getDoctor().getId(), appointment.getAppointmentTime());
+        events.publish(new DomainEvent.AppointmentCancelled(appointment.getId(), appointment.getDoctor().getId(),
+                appointment.getPatient().getId(), appointment.getAppointmentTime()));
         response.put("message", "Appointment cancelled successfully");
         return ResponseEntity.ok(response);
     }
 
     /* -------------------- GET APPOINTMENTS -------------------- */
+    @Transactional(readOnly = true)
     public Map<String, Object> getAppointment(
             String pname,
             LocalDate date,
@@ -96,29 +203,33 @@ public class AppointmentService {
 
         Map<String, Object> response = new HashMap<>();
 
-        Long doctorId = tokenService.getUserIdFromToken(token);
+        Long doctorId = doctorIdFromToken(token);
 
         LocalDateTime start = date.atStartOfDay();
         LocalDateTime end = date.atTime(23, 59, 59);
 
-        List<Appointment> appointments =
-                appointmentRepository.findByDoctorIdAndAppointmentTimeBetween(
-                        doctorId, start, end
-                );
-
-        if (pname != null && !pname.isEmpty()) {
-            appointments = appointments.stream()
-                    .filter(a -> a.getPatient().getName()
-                            .toLowerCase()
-                            .contains(pname.toLowerCase()))
-                    .collect(Collectors.toList());
-        }
+        // DTO rows straight from the query; the name filter runs in SQL
+        List<AppointmentDTO> appointments = (pname == null || pname.isBlank())
+                ? appointmentRepository.findScheduleByDoctorIdAndAppointmentTimeBetween(
+                        doctorId, start, end)
+                : appointmentRepository.findScheduleByDoctorIdAndPatient_NameContainingIgnoreCaseAndAppointmentTimeBetween(
+                        doctorId, pname.trim(), start, end);
 
         response.put("appointments", appointments);
         return response;
     }
-}
-
 
+    /* -------------------- TOKEN OWNER -------------------- */
 
+    // Tokens carry the user's email; null when no such user exists
+    private Long patientIdFromToken(String token) {
+        return patientRepository.findByEmail(tokenService.extractIdentifier(token))
+                .map(Patient::getId)
+                .orElse(null);
+    }
 
+    private Long doctorIdFromToken(String token) {
+        Doctor doctor = doctorRepository.findByEmail(tokenService.extractIdentifier(token));
+        return doctor == null ? null : doctor.getId();
+    }
+}
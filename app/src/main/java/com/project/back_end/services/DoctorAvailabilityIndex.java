@@ -0,0 +1,395 @@
+package com.project.back_end.services;
+
+import com.project.back_end.config.ReadWriteRoutingDataSource;
+import com.project.back_end.models.Appointment;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.repo.AppointmentRepository;
+import com.project.back_end.repo.DoctorRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * In-memory index of booked appointment slots, one bitmap per doctor and day.
+ * Bit {@code i} of a day's bitmap is set when the doctor's {@code i}-th
+ * available time slot is booked, so an availability lookup for an already
+ * indexed doctor/day does no database round trip.
+ *
+ * The index is filled lazily from the database on first access and kept
+ * current by the appointment and doctor write paths. Only days from today
+ * up to {@code availability.index.max-days-ahead} are kept; lookups outside
+ * that window (the date comes from the client) go to the database.
+ *
+ * The write hooks only see this instance's changes. What other instances
+ * book, cancel or change is picked up by age instead: a doctor's entry,
+ * slot layout and booked days together, is dropped and reloaded on the
+ * first lookup after {@code availability.index.max-staleness-seconds}, so
+ * no answer is older than that bound. A booking made here just before the
+ * reload can be missing from a replica that is behind; the unique
+ * (doctor, time) constraint still rejects a second booking of that slot.
+ *
+ * Booked slots may load from the replica (see
+ * {@link ReadWriteRoutingDataSource#forCache}). Bookings the replica has not
+ * applied yet are not lost: their write hooks have already run and are
+ * replayed on top of the load. Slot layouts always load from the primary,
+ * because nothing would correct a stale layout until the doctor changes
+ * again.
+ */
+@Component
+public class DoctorAvailabilityIndex {
+
+    private final DoctorRepository doctorRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final TransactionTemplate readOnlyTx;
+    private final long maxDaysAhead;
+    private final long maxStalenessNanos;
+
+    private final ConcurrentHashMap<Long, DoctorSlots> doctors = new ConcurrentHashMap<>();
+
+    public DoctorAvailabilityIndex(
+            DoctorRepository doctorRepository,
+            AppointmentRepository appointmentRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${availability.index.max-days-ahead:180}") long maxDaysAhead,
+            @Value("${availability.index.max-staleness-seconds:60}") long maxStalenessSeconds
+    ) {
+        this.doctorRepository = doctorRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.maxDaysAhead = maxDaysAhead;
+        this.maxStalenessNanos = TimeUnit.SECONDS.toNanos(maxStalenessSeconds);
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    // -------------------- LOOKUP --------------------
+
+    /**
+     * Returns the doctor's slots that are still free on the given date.
+     *
+     * @param doctorId id of the doctor
+     * @param date day to check
+     * @return free slots in the order the doctor published them,
+     *         or an empty list if the doctor does not exist
+     */
+    public List<String> getAvailableSlots(Long doctorId, LocalDate date) {
+        DoctorSlots slots = slotsFor(doctorId);
+        if (slots == null || slots.labels.length == 0) return Collections.emptyList();
+
+        long[] booked = slots.bookedOn(doctorId, date.toEpochDay(), this);
+        List<String> free = new ArrayList<>(slots.labels.length);
+        for (int i = 0; i < slots.labels.length; i++) {
+            if (!isSet(booked, i)) {
+                free.add(slots.labels[i]);
+            }
+        }
+        return free;
+    }
+
+    /**
+     * Checks whether {@code time} is the start of one of the doctor's
+     * published slots and that slot is not booked yet.
+     *
+     * @param doctorId id of the doctor
+     * @param time requested appointment start
+     * @return true if the slot can be booked
+     */
+    public boolean isSlotFree(Long doctorId, LocalDateTime time) {
+        if (doctorId == null || time == null) return false;
+
+        DoctorSlots slots = slotsFor(doctorId);
+        if (slots == null) return false;
+
+        int index = slots.indexOf(time.toLocalTime());
+        if (index < 0) return false;
+
+        long[] booked = slots.bookedOn(doctorId, time.toLocalDate().toEpochDay(), this);
+        return !isSet(booked, index);
+    }
+
+    /**
+     * Checks whether {@code time} is the start of one of the doctor's
+     * published slots, booked or not. Needs the slot layout only.
+     *
+     * @param doctorId id of the doctor
+     * @param time start time of the slot
+     * @return true if the doctor publishes a slot starting at {@code time}
+     */
+    public boolean isOnSchedule(Long doctorId, LocalTime time) {
+        if (doctorId == null || time == null) return false;
+
+        DoctorSlots slots = slotsFor(doctorId);
+        return slots != null && slots.indexOf(time) >= 0;
+    }
+
+    private static boolean isSet(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    // -------------------- WRITE HOOKS --------------------
+
+    /**
+     * Marks the slot starting at {@code time} as booked.
+     * For a day that has not been loaded yet, the change is kept and applied
+     * on top of the load.
+     */
+    public void markBooked(Long doctorId, LocalDateTime time) {
+        update(doctorId, time, true);
+    }
+
+    /**
+     * Marks the slot starting at {@code time} as free again.
+     */
+    public void markFree(Long doctorId, LocalDateTime time) {
+        update(doctorId, time, false);
+    }
+
+    /**
+     * Drops everything known about a doctor, e.g. after the doctor was
+     * deleted or their available times changed.
+     */
+    public void evictDoctor(Long doctorId) {
+        if (doctorId != null) {
+            doctors.remove(doctorId);
+        }
+    }
+
+    private void update(Long doctorId, LocalDateTime time, boolean booked) {
+        if (doctorId == null || time == null) return;
+
+        DoctorSlots slots = doctors.get(doctorId);
+        if (slots == null) return;
+
+        int index = slots.indexOf(time.toLocalTime());
+        if (index < 0) return;
+
+        long epochDay = time.toLocalDate().toEpochDay();
+        DayBits day = slots.days.get(epochDay);
+        if (day == null) {
+            if (!slots.inWindow(epochDay, maxDaysAhead)) return;
+            day = slots.days.computeIfAbsent(epochDay, d -> new DayBits(slots.words()));
+        }
+        day.update(index, booked);
+    }
+
+    // -------------------- LOADING --------------------
+
+    private DoctorSlots slotsFor(Long doctorId) {
+        DoctorSlots slots = doctors.get(doctorId);
+        if (slots != null && System.nanoTime() - slots.loadedAt < maxStalenessNanos) return slots;
+
+        DoctorSlots fresh = ReadWriteRoutingDataSource.onPrimary(() -> readOnlyTx.execute(status ->
+                doctorRepository.findById(doctorId)
+                        .map(DoctorSlots::of)
+                        .orElse(null)));
+        if (fresh == null) {
+            if (slots != null) doctors.remove(doctorId, slots);
+            return null;
+        }
+
+        if (slots == null) {
+            DoctorSlots existing = doctors.putIfAbsent(doctorId, fresh);
+            return existing != null ? existing : fresh;
+        }
+        // Stale: the booked days go with the old entry and reload on demand
+        return doctors.replace(doctorId, slots, fresh) ? fresh : doctors.getOrDefault(doctorId, fresh);
+    }
+
+    private long[] loadDay(Long doctorId, DoctorSlots slots, long epochDay) {
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        List<Appointment> appointments = ReadWriteRoutingDataSource.forCache(() ->
+                appointmentRepository.findByDoctorIdAndAppointmentTimeBetween(
+                        doctorId, date.atStartOfDay(), date.atTime(23, 59, 59)
+                ));
+
+        long[] bits = new long[slots.words()];
+        for (Appointment appointment : appointments) {
+            int index = slots.indexOf(appointment.getAppointmentTime().toLocalTime());
+            if (index >= 0) {
+                bits[index >>> 6] |= 1L << index;
+            }
+        }
+        return bits;
+    }
+
+    // -------------------- PER-DOCTOR STATE --------------------
+
+    /**
+     * Immutable slot layout of one doctor plus their per-day booked bitmaps,
+     * keyed by epoch day, and when the layout was read. A bitmap has one bit per slot, in as many longs as
+     * the doctor's slot count needs.
+     */
+    static final class DoctorSlots {
+
+        final String[] labels;
+        final int[] startMinutes;
+        final ConcurrentHashMap<Long, DayBits> days = new ConcurrentHashMap<>();
+        final long loadedAt = System.nanoTime();
+
+        private DoctorSlots(String[] labels, int[] startMinutes) {
+            this.labels = labels;
+            this.startMinutes = startMinutes;
+        }
+
+        static DoctorSlots of(Doctor doctor) {
+            List<String> times = doctor.getAvailableTimes();
+            if (times == null) times = Collections.emptyList();
+
+            // Labels without a readable start time can't be booked, so they
+            // are not offered
+            List<String> labels = new ArrayList<>(times.size());
+            int[] startMinutes = new int[times.size()];
+            for (String time : times) {
+                int minute = startMinuteOf(time);
+                if (minute >= 0) {
+                    startMinutes[labels.size()] = minute;
+                    labels.add(time);
+                }
+            }
+            return new DoctorSlots(labels.toArray(new String[0]), Arrays.copyOf(startMinutes, labels.size()));
+        }
+
+        /**
+         * Slots look like "09:00-10:00" or "9:00"; only the start time
+         * identifies them.
+         *
+         * @return minutes since midnight, or -1 if the label has no valid start time
+         */
+        static int startMinuteOf(String slot) {
+            if (slot == null) return -1;
+            int dash = slot.indexOf('-');
+            String start = (dash < 0 ? slot : slot.substring(0, dash)).trim();
+            int colon = start.indexOf(':');
+            if (colon <= 0 || colon > 2 || start.length() - colon - 1 != 2) return -1;
+            try {
+                int hour = Integer.parseInt(start.substring(0, colon));
+                int minute = Integer.parseInt(start.substring(colon + 1));
+                return hour < 24 && minute < 60 && hour >= 0 && minute >= 0 ? hour * 60 + minute : -1;
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+
+        int words() {
+            return Math.max(1, (labels.length + Long.SIZE - 1) / Long.SIZE);
+        }
+
+        int indexOf(LocalTime time) {
+            int minute = time.getHour() * 60 + time.getMinute();
+            for (int i = 0; i < startMinutes.length; i++) {
+                if (startMinutes[i] == minute) return i;
+            }
+            return -1;
+        }
+
+        long[] bookedOn(Long doctorId, long epochDay, DoctorAvailabilityIndex index) {
+            DayBits day = days.get(epochDay);
+            if (day == null) {
+                if (!inWindow(epochDay, index.maxDaysAhead)) {
+                    // Outside the indexed window: answer without keeping it
+                    return index.loadDay(doctorId, this, epochDay);
+                }
+                day = days.computeIfAbsent(epochDay, d -> new DayBits(words()));
+                evictPastDays(LocalDate.now().toEpochDay());
+            }
+            if (!day.loaded) {
+                day.load(() -> index.loadDay(doctorId, this, epochDay));
+            }
+            return day.bits;
+        }
+
+        boolean inWindow(long epochDay, long maxDaysAhead) {
+            long today = LocalDate.now().toEpochDay();
+            return epochDay >= today && epochDay <= today + maxDaysAhead;
+        }
+
+        private void evictPastDays(long today) {
+            days.keySet().removeIf(day -> day < today);
+        }
+    }
+
+    /**
+     * Booked bitmap of one doctor on one day.
+     * The database load runs under a {@link ReentrantLock} rather than inside
+     * {@code ConcurrentHashMap.computeIfAbsent}, whose synchronized bins would
+     * pin a virtual thread's carrier for the whole query. Writers take the
+     * same lock, so an update racing with the load is never lost: either it
+     * waits and is applied on top of the loaded bits, or it ran before the
+     * load and was recorded as pending. Pending changes are replayed over
+     * the load, since a replica may not have applied them yet; replaying one
+     * the load already saw changes nothing.
+     */
+    static final class DayBits {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        // Replaced, never modified, so readers always see a whole bitmap
+        volatile long[] bits;
+        volatile boolean loaded;
+
+        // Last change per slot seen before the load, guarded by lock
+        private long[] pendingBooked;
+        private long[] pendingFreed;
+
+        DayBits(int words) {
+            this.pendingBooked = new long[words];
+            this.pendingFreed = new long[words];
+        }
+
+        void load(Supplier<long[]> loader) {
+            lock.lock();
+            try {
+                if (!loaded) {
+                    long[] next = loader.get();
+                    for (int i = 0; i < next.length; i++) {
+                        next[i] = (next[i] | pendingBooked[i]) & ~pendingFreed[i];
+                    }
+                    bits = next;
+                    loaded = true;
+                    pendingBooked = null;
+                    pendingFreed = null;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void update(int index, boolean booked) {
+            long bit = 1L << index;
+            int word = index >>> 6;
+            lock.lock();
+            try {
+                if (!loaded) {
+                    if (booked) {
+                        pendingBooked[word] |= bit;
+                        pendingFreed[word] &= ~bit;
+                    } else {
+                        pendingFreed[word] |= bit;
+                        pendingBooked[word] &= ~bit;
+                    }
+                    return;
+                }
+                long[] next = bits.clone();
+                if (booked) {
+                    next[word] |= bit;
+                } else {
+                    next[word] &= ~bit;
+                }
+                bits = next;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.project.back_end.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.back_end.config.ReadWriteRoutingDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serialized JSON responses of the public doctor listing and filter
+ * endpoints, keyed by the normalized request parameters.
+ *
+ * Every entry remembers the doctor version it was built at; doctor
+ * create/update/delete bump the version, which makes all entries stale at
+ * once. The ETag is a digest of the body, so it is strong and identical on
+ * every instance serving the same data, and a matching If-None-Match can be
+ * answered without touching the database or Jackson.
+ *
+ * A full cache drops its least recently used entry, so a burst of one-off
+ * filter URLs pushes out other rarely used filters rather than the listing
+ * every page load asks for.
+ */
+@Component
+public class DoctorResponseCache {
+
+    private final ObjectMapper objectMapper;
+    private final int maxEntries;
+    private final long ttlMillis;
+
+    private final AtomicLong version = new AtomicLong();
+    // Access-ordered; guarded by lock, since a read reorders it
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public DoctorResponseCache(
+            ObjectMapper objectMapper,
+            @Value("${doctor.response-cache.max-entries:256}") int maxEntries,
+            @Value("${doctor.response-cache.ttl-seconds:60}") long ttlSeconds
+    ) {
+        this.objectMapper = objectMapper;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.entries = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * A cached response body and its strong ETag (quoted, ready for the header).
+     */
+    public record Response(byte[] body, String etag) {
+    }
+
+    // -------------------- LOOKUP --------------------
+
+    /**
+     * Returns the cached response for {@code key}, building and caching it
+     * from {@code loader} when missing or stale.
+     *
+     * @param key key built with {@link #key(String, String...)}
+     * @param loader produces the response object; only called on a miss
+     * @return the serialized response
+     */
+    public Response get(String key, Supplier<Object> loader) {
+        long now = System.currentTimeMillis();
+        Entry entry = lookup(key);
+        if (entry != null && isFresh(entry, now)) {
+            hits.increment();
+            return entry.response;
+        }
+        misses.increment();
+
+        // Read the version before loading: a write during the load leaves
+        // this entry already stale instead of caching pre-write data as new
+        long loadedAt = version.get();
+        // Kept until the TTL, so built from the replica only while it is current
+        Response response = serialize(ReadWriteRoutingDataSource.forCache(loader));
+        if (maxEntries > 0) {
+            lock.lock();
+            try {
+                entries.put(key, new Entry(response, loadedAt, now + ttlMillis));
+            } finally {
+                lock.unlock();
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Checks an If-None-Match header against the cached response for
+     * {@code key}, without loading anything.
+     *
+     * @return the matching response, or null if the client's copy cannot be
+     *         confirmed as current
+     */
+    public Response matching(String key, String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) return null;
+
+        Entry entry = lookup(key);
+        if (entry == null || !isFresh(entry, System.currentTimeMillis())) return null;
+
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.equals("*") || candidate.equals(entry.response.etag)) {
+                hits.increment();
+                return entry.response;
+            }
+        }
+        return null;
+    }
+
+    // -------------------- INVALIDATION --------------------
+
+    /**
+     * Marks every cached response stale. Called after any doctor write.
+     */
+    public void invalidate() {
+        version.incrementAndGet();
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // -------------------- STATISTICS --------------------
+
+    /**
+     * @return hit/miss counters and the current size
+     */
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        lock.lock();
+        try {
+            stats.put("size", (long) entries.size());
+        } finally {
+            lock.unlock();
+        }
+        return stats;
+    }
+
+    // -------------------- KEYS --------------------
+
+    /**
+     * Builds a cache key from an endpoint name and its parameters. Filters
+     * are case-insensitive and the dashboards send "null" for empty ones,
+     * so equivalent requests share an entry.
+     */
+    public static String key(String endpoint, String... params) {
+        StringBuilder key = new StringBuilder(endpoint);
+        for (String param : params) {
+            key.append('|');
+            if (param != null && !param.isBlank() && !param.trim().equalsIgnoreCase("null")) {
+                key.append(param.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        return key.toString();
+    }
+
+    // -------------------- INTERNALS --------------------
+
+    private Entry lookup(String key) {
+        lock.lock();
+        try {
+            return entries.get(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isFresh(Entry entry, long now) {
+        return entry.version == version.get() && entry.expiresAt > now;
+    }
+
+    private Response serialize(Object value) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(value);
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            String etag = '"' + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + '"';
+            return new Response(body, etag);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize doctor response", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record Entry(Response response, long version, long expiresAt) {
+    }
+}
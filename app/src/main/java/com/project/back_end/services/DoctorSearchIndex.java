@@ -0,0 +1,218 @@
+package com.project.back_end.services;
+
+import com.project.back_end.config.ReadWriteRoutingDataSource;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.repo.DoctorRepository;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over doctor names and specialties for ranked,
+ * typo-tolerant prefix and substring search without a leading-wildcard
+ * LIKE scan of the doctors table.
+ *
+ * Built from the database on first use and kept current by
+ * {@link DoctorService#saveDoctor}, {@link DoctorService#updateDoctor} and
+ * {@link DoctorService#deleteDoctor}.
+ */
+@Component
+public class DoctorSearchIndex {
+
+    /** Share of the query's trigrams a doctor must contain to be returned. */
+    static final double MIN_SCORE = 0.4;
+
+    /** Specialty matches rank below equally good name matches. */
+    private static final double SPECIALTY_WEIGHT = 0.8;
+
+    private final DoctorRepository doctorRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<Long, Set<Long>> namePostings = new HashMap<>();
+    private final Map<Long, Set<Long>> specialtyPostings = new HashMap<>();
+    private volatile boolean loaded;
+
+    public DoctorSearchIndex(DoctorRepository doctorRepository) {
+        this.doctorRepository = doctorRepository;
+    }
+
+    /**
+     * A ranked search hit.
+     */
+    public record Hit(Long id, String name, String specialty, double score) {
+    }
+
+    // -------------------- SEARCH --------------------
+
+    /**
+     * Searches names and specialties for the query.
+     *
+     * @param query free text, possibly misspelled or incomplete
+     * @param limit maximum number of hits
+     * @return hits ordered by descending score, then name
+     */
+    public List<Hit> search(String query, int limit) {
+        long[] queryTrigrams = trigrams(query, false);
+        if (queryTrigrams.length == 0 || limit <= 0) return Collections.emptyList();
+        ensureLoaded();
+
+        Map<Long, int[]> counts = new HashMap<>();
+        List<Hit> hits = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            for (long trigram : queryTrigrams) {
+                count(namePostings.get(trigram), counts, 0);
+                count(specialtyPostings.get(trigram), counts, 1);
+            }
+
+            String normalizedQuery = normalize(query);
+            for (Map.Entry<Long, int[]> candidate : counts.entrySet()) {
+                Entry entry = entries.get(candidate.getKey());
+                double nameScore = (double) candidate.getValue()[0] / queryTrigrams.length;
+                double specialtyScore = SPECIALTY_WEIGHT * candidate.getValue()[1] / queryTrigrams.length;
+
+                // Exact substring matches beat fuzzy ones with the same trigram overlap
+                if (entry.normalizedName.contains(normalizedQuery)) nameScore += 0.5;
+
+                double score = Math.max(nameScore, specialtyScore);
+                if (score >= MIN_SCORE) {
+                    hits.add(new Hit(entry.id, entry.name, entry.specialty, score));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        hits.sort(Comparator.comparingDouble(Hit::score).reversed()
+                .thenComparing(Hit::name, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
+        return hits.size() > limit ? hits.subList(0, limit) : hits;
+    }
+
+    private void count(Set<Long> ids, Map<Long, int[]> counts, int field) {
+        if (ids == null) return;
+        for (Long id : ids) {
+            counts.computeIfAbsent(id, k -> new int[2])[field]++;
+        }
+    }
+
+    // -------------------- MAINTENANCE --------------------
+
+    /**
+     * Adds or replaces a doctor in the index.
+     */
+    public void put(Doctor doctor) {
+        if (doctor == null || doctor.getId() == null) return;
+        lock.writeLock().lock();
+        try {
+            // Not loaded yet: the initial load reads the committed change itself
+            if (!loaded) return;
+            removeLocked(doctor.getId());
+            addLocked(doctor);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a doctor from the index.
+     */
+    public void remove(Long doctorId) {
+        if (doctorId == null) return;
+        lock.writeLock().lock();
+        try {
+            if (!loaded) return;
+            removeLocked(doctorId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) return;
+        lock.writeLock().lock();
+        try {
+            if (loaded) return;
+            for (Doctor doctor : ReadWriteRoutingDataSource.onPrimary(doctorRepository::findAll)) {
+                addLocked(doctor);
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addLocked(Doctor doctor) {
+        Entry entry = new Entry(doctor.getId(), doctor.getName(), doctor.getSpecialty(),
+                normalize(doctor.getName()),
+                trigrams(doctor.getName(), true), trigrams(doctor.getSpecialty(), true));
+        entries.put(entry.id, entry);
+        for (long trigram : entry.nameTrigrams) {
+            namePostings.computeIfAbsent(trigram, k -> new HashSet<>()).add(entry.id);
+        }
+        for (long trigram : entry.specialtyTrigrams) {
+            specialtyPostings.computeIfAbsent(trigram, k -> new HashSet<>()).add(entry.id);
+        }
+    }
+
+    private void removeLocked(Long doctorId) {
+        Entry entry = entries.remove(doctorId);
+        if (entry == null) return;
+        unpost(namePostings, entry.nameTrigrams, doctorId);
+        unpost(specialtyPostings, entry.specialtyTrigrams, doctorId);
+    }
+
+    private void unpost(Map<Long, Set<Long>> postings, long[] trigrams, Long doctorId) {
+        for (long trigram : trigrams) {
+            Set<Long> ids = postings.get(trigram);
+            if (ids != null && ids.remove(doctorId) && ids.isEmpty()) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    // -------------------- TRIGRAMS --------------------
+
+    /**
+     * Lower-cases, strips accents and collapses everything that is not a
+     * letter or digit into single spaces.
+     */
+    static String normalize(String text) {
+        if (text == null) return "";
+        String stripped = Normalizer.normalize(text, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return stripped.toLowerCase(Locale.ROOT).replaceAll("[^\\p{Alnum}]+", " ").trim();
+    }
+
+    /**
+     * Distinct trigrams of every word, padded with two leading spaces so
+     * prefixes match. Indexed text is also padded at the end; a query is
+     * not, because its last word may still be incomplete.
+     */
+    static long[] trigrams(String text, boolean padEnd) {
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) return new long[0];
+
+        Set<Long> result = new LinkedHashSet<>();
+        for (String word : normalized.split(" ")) {
+            String padded = "  " + word + (padEnd ? " " : "");
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                result.add(pack(padded.charAt(i), padded.charAt(i + 1), padded.charAt(i + 2)));
+            }
+        }
+        long[] packed = new long[result.size()];
+        int i = 0;
+        for (Long trigram : result) packed[i++] = trigram;
+        return packed;
+    }
+
+    private static long pack(char a, char b, char c) {
+        return ((long) a << 32) | ((long) b << 16) | c;
+    }
+
+    private record Entry(Long id, String name, String specialty, String normalizedName,
+                         long[] nameTrigrams, long[] specialtyTrigrams) {
+    }
+}
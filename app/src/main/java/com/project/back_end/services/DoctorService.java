@@ -1,20 +1,25 @@
 package com.project.back_end.services;
 
-import com.project.back_end.models.Appointment;
+import com.project.back_end.events.DomainEvent;
+import com.project.back_end.events.DomainEventBus;
 import com.project.back_end.models.Doctor;
-import com.project.back_end.models.Login;
-import com.project.back_end.repositories.AppointmentRepository;
-import com.project.back_end.repositories.DoctorRepository;
+import com.project.back_end.DTO.Login;
+import com.project.back_end.repo.AppointmentRepository;
+import com.project.back_end.repo.DoctorRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.RejectedExecutionException;
 
 @Service
+@Timed("clinic.service")
 public class DoctorService {
 
     @Autowired
@@ -26,29 +31,24 @@ public class DoctorService {
     @Autowired
     private TokenService tokenService;
 
-    /* -------------------- GET DOCTOR AVAILABILITY -------------------- */
-    public List<String> getDoctorAvailability(Long doctorId, LocalDate date) {
-
-        Optional<Doctor> doctorOpt = doctorRepository.findById(doctorId);
-        if (doctorOpt.isEmpty()) return Collections.emptyList();
+    @Autowired
+    private DoctorAvailabilityIndex availabilityIndex;
 
-        Doctor doctor = doctorOpt.get();
+    @Autowired
+    private PasswordHashingService passwordHashing;
 
-        LocalDateTime start = date.atStartOfDay();
-        LocalDateTime end = date.atTime(23, 59, 59);
+    @Autowired
+    private DoctorSearchIndex searchIndex;
 
-        List<Appointment> appointments =
-                appointmentRepository.findByDoctorIdAndAppointmentTimeBetween(
-                        doctorId, start, end
-                );
+    @Autowired
+    private DoctorResponseCache responseCache;
 
-        Set<String> bookedSlots = appointments.stream()
-                .map(a -> a.getAppointmentTime().toLocalTime().toString())
-                .collect(Collectors.toSet());
+    @Autowired
+    private DomainEventBus events;
 
-        return doctor.getAvailableTimes().stream()
-                .filter(slot -> !bookedSlots.contains(slot))
-                .collect(Collectors.toList());
+    /* -------------------- GET DOCTOR AVAILABILITY -------------------- */
+    public List<String> getDoctorAvailability(Long doctorId, LocalDate date) {
+        return availabilityIndex.getAvailableSlots(doctorId, date);
     }
 
     /* -------------------- SAVE DOCTOR -------------------- */
@@ -57,7 +57,11 @@ public class DoctorService {
             if (doctorRepository.findByEmail(doctor.getEmail()) != null) {
                 return -1;
             }
-            doctorRepository.save(doctor);
+            doctor.setPassword(passwordHashing.hash(doctor.getPassword()));
+            Doctor saved = doctorRepository.save(doctor);
+            searchIndex.put(saved);
+            responseCache.invalidate();
+            events.publish(new DomainEvent.DoctorCreated(saved.getId()));
             return 1;
         } catch (Exception e) {
             return 0;
@@ -67,10 +71,18 @@ public class DoctorService {
     /* -------------------- UPDATE DOCTOR -------------------- */
     public int updateDoctor(Doctor doctor) {
         try {
-            if (!doctorRepository.existsById(doctor.getId())) {
+            Optional<Doctor> existing = doctorRepository.findById(doctor.getId());
+            if (existing.isEmpty()) {
                 return -1;
             }
-            doctorRepository.save(doctor);
+            // Keep the stored hash unless a new password was sent
+            doctor.setPassword(doctor.getPassword() == null
+                    ? existing.get().getPassword()
+                    : passwordHashing.hash(doctor.getPassword()));
+            searchIndex.put(doctorRepository.save(doctor));
+            availabilityIndex.evictDoctor(doctor.getId());
+            responseCache.invalidate();
+            events.publish(new DomainEvent.DoctorUpdated(doctor.getId()));
             return 1;
         } catch (Exception e) {
             return 0;
@@ -78,18 +90,102 @@ public class DoctorService {
     }
 
     /* -------------------- GET ALL DOCTORS -------------------- */
+    @Transactional(readOnly = true)
     public List<Doctor> getDoctors() {
         return doctorRepository.findAll();
     }
 
+    /* -------------------- GET DOCTORS (PAGINATED) -------------------- */
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final Set<String> PAGE_FIELDS =
+            Set.of("id", "name", "specialty", "email", "phone", "availableTimes");
+
+    /**
+     * Returns one keyset page of the doctor directory ordered by id.
+     *
+     * @param cursor opaque cursor from a previous page, or null for the first page
+     * @param limit page size, capped at {@link #MAX_PAGE_SIZE}
+     * @param fields fields to include per doctor, or null/empty for all
+     * @return map with "doctors" and "next" (null on the last page)
+     * @throws IllegalArgumentException if the cursor or a field name is invalid
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getDoctorPage(String cursor, int limit, Set<String> fields) {
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        Set<String> projection = (fields == null || fields.isEmpty()) ? PAGE_FIELDS : fields;
+        for (String field : projection) {
+            if (!PAGE_FIELDS.contains(field)) {
+                throw new IllegalArgumentException("Unknown field: " + field);
+            }
+        }
+
+        // Fetch one extra row to learn whether another page follows
+        List<Doctor> doctors = doctorRepository.findByIdGreaterThanOrderByIdAsc(
+                decodeCursor(cursor), Limit.of(pageSize + 1));
+
+        boolean hasNext = doctors.size() > pageSize;
+        if (hasNext) {
+            doctors = doctors.subList(0, pageSize);
+        }
+
+        List<Map<String, Object>> page = new ArrayList<>(doctors.size());
+        for (Doctor doctor : doctors) {
+            page.add(projectDoctor(doctor, projection));
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("doctors", page);
+        response.put("next", hasNext ? encodeCursor(doctors.get(doctors.size() - 1).getId()) : null);
+        return response;
+    }
+
+    private Map<String, Object> projectDoctor(Doctor doctor, Set<String> fields) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        if (fields.contains("id")) row.put("id", doctor.getId());
+        if (fields.contains("name")) row.put("name", doctor.getName());
+        if (fields.contains("specialty")) row.put("specialty", doctor.getSpecialty());
+        if (fields.contains("email")) row.put("email", doctor.getEmail());
+        if (fields.contains("phone")) row.put("phone", doctor.getPhone());
+        // Only touch the lazy collection when the client asked for it
+        if (fields.contains("availableTimes")) row.put("availableTimes", doctor.getAvailableTimes());
+        return row;
+    }
+
+    private String encodeCursor(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("id:" + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) return 0L;
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith("id:")) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return Long.parseLong(decoded.substring(3));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
     /* -------------------- DELETE DOCTOR -------------------- */
     public int deleteDoctor(long id) {
         try {
-            if (!doctorRepository.existsById(id)) {
+            Optional<Doctor> doctor = doctorRepository.findById(id);
+            if (doctor.isEmpty()) {
                 return -1;
             }
             appointmentRepository.deleteAllByDoctorId(id);
             doctorRepository.deleteById(id);
+            availabilityIndex.evictDoctor(id);
+            searchIndex.remove(id);
+            responseCache.invalidate();
+            tokenService.invalidateUser(doctor.get().getEmail());
+            events.publish(new DomainEvent.DoctorDeleted(id));
             return 1;
         } catch (Exception e) {
             return 0;
@@ -102,12 +198,24 @@ public class DoctorService {
         Map<String, String> response = new HashMap<>();
         Doctor doctor = doctorRepository.findByEmail(login.getEmail());
 
-        if (doctor == null || !doctor.getPassword().equals(login.getPassword())) {
-            response.put("message", "Invalid credentials");
-            return ResponseEntity.status(401).body(response);
+        try {
+            if (doctor == null || !passwordHashing.verify(login.getPassword(), doctor.getPassword())) {
+                response.put("message", "Invalid credentials");
+                return ResponseEntity.status(401).body(response);
+            }
+
+            // Cost factor was raised since this hash was made: upgrade it now
+            // that the raw password is at hand
+            if (passwordHashing.needsRehash(doctor.getPassword())) {
+                doctor.setPassword(passwordHashing.hash(login.getPassword()));
+                doctorRepository.save(doctor);
+            }
+        } catch (RejectedExecutionException e) {
+            response.put("message", "Too many login attempts, please retry shortly");
+            return ResponseEntity.status(503).body(response);
         }
 
-        String token = tokenService.generateToken(doctor.getId(), "doctor");
+        String token = tokenService.generateToken(doctor.getEmail());
         response.put("token", token);
         response.put("role", "doctor");
         return ResponseEntity.ok(response);
@@ -115,8 +223,34 @@ public class DoctorService {
 
     /* -------------------- FIND DOCTOR BY NAME -------------------- */
     public Map<String, Object> findDoctorByName(String name) {
+
+        List<Long> ids = new ArrayList<>();
+        for (DoctorSearchIndex.Hit hit : searchIndex.search(name, MAX_PAGE_SIZE)) {
+            ids.add(hit.id());
+        }
+
+        // Primary-key lookup with the slots, returned in the index's ranking order
+        Map<Long, Doctor> byId = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (Doctor doctor : doctorRepository.findByIdIn(ids)) {
+                byId.put(doctor.getId(), doctor);
+            }
+        }
+        List<Doctor> doctors = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Doctor doctor = byId.get(id);
+            if (doctor != null) doctors.add(doctor);
+        }
+
         Map<String, Object> response = new HashMap<>();
-        response.put("doctors", doctorRepository.findByNameLike("%" + name + "%"));
+        response.put("doctors", doctors);
+        return response;
+    }
+
+    /* -------------------- SEARCH DOCTORS -------------------- */
+    public Map<String, Object> searchDoctors(String query, int limit) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("doctors", searchIndex.search(query, Math.max(1, Math.min(limit, MAX_PAGE_SIZE))));
         return response;
     }
 
@@ -124,24 +258,30 @@ public class DoctorService {
     public Map<String, Object> filterDoctorsByNameSpecilityandTime(
             String name, String specialty, String amOrPm) {
 
-        List<Doctor> doctors =
-                doctorRepository.findByNameContainingIgnoreCaseAndSpecialtyIgnoreCase(
-                        name, specialty
-                );
+        name = normalizeFilter(name);
+        specialty = normalizeFilter(specialty);
+        amOrPm = normalizeFilter(amOrPm);
 
         Map<String, Object> response = new HashMap<>();
-        response.put("doctors", filterDoctorByTime(doctors, amOrPm));
+        if (amOrPm == null) {
+            response.put("doctors", filterWithoutTime(name, specialty));
+            return response;
+        }
+
+        int[] hours = hourRange(amOrPm);
+        response.put("doctors",
+                doctorRepository.findAvailableBetweenHours(name, specialty, hours[0], hours[1]));
         return response;
     }
 
     /* -------------------- FILTER: NAME + TIME -------------------- */
     public Map<String, Object> filterDoctorByNameAndTime(String name, String amOrPm) {
 
-        List<Doctor> doctors =
-                doctorRepository.findByNameContainingIgnoreCase(name);
+        int[] hours = hourRange(amOrPm);
 
         Map<String, Object> response = new HashMap<>();
-        response.put("doctors", filterDoctorByTime(doctors, amOrPm));
+        response.put("doctors",
+                doctorRepository.findAvailableBetweenHours(name, null, hours[0], hours[1]));
         return response;
     }
 
@@ -158,11 +298,11 @@ public class DoctorService {
     /* -------------------- FILTER: SPECIALTY + TIME -------------------- */
     public Map<String, Object> filterDoctorByTimeAndSpecility(String specilty, String amOrPm) {
 
-        List<Doctor> doctors =
-                doctorRepository.findBySpecialtyIgnoreCase(specilty);
+        int[] hours = hourRange(amOrPm);
 
         Map<String, Object> response = new HashMap<>();
-        response.put("doctors", filterDoctorByTime(doctors, amOrPm));
+        response.put("doctors",
+                doctorRepository.findAvailableBetweenHours(null, specilty, hours[0], hours[1]));
         return response;
     }
 
@@ -177,26 +317,49 @@ public class DoctorService {
     /* -------------------- FILTER: TIME -------------------- */
     public Map<String, Object> filterDoctorsByTime(String amOrPm) {
 
-        List<Doctor> doctors = doctorRepository.findAll();
+        int[] hours = hourRange(amOrPm);
 
         Map<String, Object> response = new HashMap<>();
-        response.put("doctors", filterDoctorByTime(doctors, amOrPm));
+        response.put("doctors",
+                doctorRepository.findAvailableBetweenHours(null, null, hours[0], hours[1]));
         return response;
     }
 
-    /* -------------------- PRIVATE TIME FILTER -------------------- */
-    private List<Doctor> filterDoctorByTime(List<Doctor> doctors, String amOrPm) {
+    /* -------------------- FILTER: HOUR RANGE -------------------- */
+    public Map<String, Object> filterDoctorsByHourRange(
+            String name, String specialty, int fromHour, int toHour) {
 
-        return doctors.stream()
-                .filter(d ->
-                        d.getAvailableTimes().stream().anyMatch(time -> {
-                            int hour = Integer.parseInt(time.split(":")[0]);
-                            return amOrPm.equalsIgnoreCase("AM")
-                                    ? hour < 12
-                                    : hour >= 12;
-                        })
-                )
-                .collect(Collectors.toList());
+        Map<String, Object> response = new HashMap<>();
+        response.put("doctors",
+                doctorRepository.findAvailableBetweenHours(
+                        normalizeFilter(name), normalizeFilter(specialty), fromHour, toHour
+                ));
+        return response;
     }
-}
 
+    /* -------------------- PRIVATE FILTER HELPERS -------------------- */
+
+    // AM covers slots starting 00:00-11:59, PM those starting 12:00-23:59
+    private int[] hourRange(String amOrPm) {
+        return "AM".equalsIgnoreCase(amOrPm) ? new int[]{0, 12} : new int[]{12, 24};
+    }
+
+    private List<Doctor> filterWithoutTime(String name, String specialty) {
+        if (name != null && specialty != null) {
+            return doctorRepository.findByNameContainingIgnoreCaseAndSpecialtyIgnoreCase(name, specialty);
+        } else if (name != null) {
+            return doctorRepository.findByNameContainingIgnoreCase(name);
+        } else if (specialty != null) {
+            return doctorRepository.findBySpecialtyIgnoreCase(specialty);
+        }
+        return doctorRepository.findAll();
+    }
+
+    // The dashboards send the literal "null" for filters the user left empty
+    private String normalizeFilter(String value) {
+        if (value == null || value.isBlank() || value.equalsIgnoreCase("null")) {
+            return null;
+        }
+        return value.trim();
+    }
+}
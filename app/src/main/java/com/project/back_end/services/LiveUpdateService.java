@@ -0,0 +1,354 @@
+package com.project.back_end.services;
+
+import com.project.back_end.events.DomainEvent;
+import com.project.back_end.events.DomainEventListener;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.repo.DoctorRepository;
+import com.project.back_end.repo.PatientRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Server-Sent Events for live dashboards. Clients subscribe to a doctor's
+ * availability on one day, or to a doctor's or patient's own schedule,
+ * and receive deltas instead of re-fetching.
+ *
+ * Subscriptions are async servlet requests ({@link SseEmitter}), so an idle
+ * subscriber holds no thread. Deltas come from the {@link DomainEventListener}
+ * batches of the event bus. Each subscriber has a small bounded queue that
+ * a shared sender pool drains, one task per subscriber at a time, which keeps
+ * its events in order. A client that falls a full queue behind is
+ * disconnected rather than buffered for; it reconnects and starts over from
+ * a fresh snapshot.
+ */
+@Service
+public class LiveUpdateService implements DomainEventListener {
+
+    /** What a subscriber listens to. */
+    public record Topic(String kind, Long id, LocalDate date) {
+
+        public static Topic availability(Long doctorId, LocalDate date) {
+            return new Topic("availability", doctorId, date);
+        }
+
+        public static Topic doctorSchedule(Long doctorId) {
+            return new Topic("doctor", doctorId, null);
+        }
+
+        public static Topic patientSchedule(Long patientId) {
+            return new Topic("patient", patientId, null);
+        }
+    }
+
+    private final DoctorRepository doctorRepository;
+    private final PatientRepository patientRepository;
+    private final long timeoutMillis;
+    private final int maxSubscribers;
+    private final int queueSize;
+
+    private final ConcurrentHashMap<Topic, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private final ExecutorService sender;
+    private final ScheduledExecutorService heartbeat;
+
+    @Autowired
+    public LiveUpdateService(
+            DoctorRepository doctorRepository,
+            PatientRepository patientRepository,
+            @Value("${sse.timeout-minutes:30}") long timeoutMinutes,
+            @Value("${sse.max-subscribers:10000}") int maxSubscribers,
+            @Value("${sse.queue-size:64}") int queueSize,
+            @Value("${sse.sender-threads:4}") int senderThreads,
+            @Value("${sse.heartbeat-seconds:25}") long heartbeatSeconds
+    ) {
+        this(doctorRepository, patientRepository, timeoutMinutes, maxSubscribers, queueSize,
+                newSender(senderThreads), heartbeatSeconds);
+    }
+
+    LiveUpdateService(
+            DoctorRepository doctorRepository,
+            PatientRepository patientRepository,
+            long timeoutMinutes,
+            int maxSubscribers,
+            int queueSize,
+            ExecutorService sender,
+            long heartbeatSeconds
+    ) {
+        this.doctorRepository = doctorRepository;
+        this.patientRepository = patientRepository;
+        this.timeoutMillis = TimeUnit.MINUTES.toMillis(timeoutMinutes);
+        this.maxSubscribers = maxSubscribers;
+        this.queueSize = Math.max(1, queueSize);
+        this.sender = sender;
+
+        // Comments keep idle connections open through proxies and reveal dead ones
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(r -> daemon(r, "sse-heartbeat"));
+        this.heartbeat.scheduleWithFixedDelay(this::sendHeartbeats,
+                heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    // -------------------- SUBSCRIBING --------------------
+
+    /**
+     * Opens a stream for the topic.
+     *
+     * The subscriber is registered before {@code initial} is read, so no
+     * change committed after the snapshot can be missed. Events arriving
+     * while the snapshot loads are held and sent after it; they may repeat
+     * what the snapshot already shows, which clients treat as a no-op.
+     *
+     * @param initial produces the event sent first, e.g. the current
+     *        availability; null for none
+     * @return the emitter to return from the controller, or null if the
+     *         subscriber limit is reached
+     */
+    public SseEmitter subscribe(Topic topic, String initialName, Supplier<?> initial) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            return null;
+        }
+
+        SseEmitter emitter = newEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(topic, emitter, queueSize);
+        subscribers.computeIfAbsent(topic, t -> ConcurrentHashMap.newKeySet()).add(subscriber);
+
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+
+        if (initial != null) {
+            Object snapshot;
+            try {
+                snapshot = initial.get();
+            } catch (RuntimeException e) {
+                unsubscribe(subscriber);
+                throw e;
+            }
+            try {
+                // Nothing drains the queue yet, so the snapshot goes out first
+                emitter.send(SseEmitter.event().name(initialName).data(snapshot));
+            } catch (IOException | IllegalStateException e) {
+                // Also reached when the subscriber overflowed during the load
+                unsubscribe(subscriber);
+                emitter.completeWithError(e);
+                return emitter;
+            }
+        }
+        subscriber.draining.set(false);
+        scheduleDrain(subscriber);
+        return emitter;
+    }
+
+    SseEmitter newEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    /**
+     * Resolves the schedule topic of the token's owner.
+     *
+     * @param user "doctor" or "patient"
+     * @param identifier email extracted from the token
+     * @return the topic, or null if no such user exists
+     */
+    public Topic scheduleTopic(String user, String identifier) {
+        if ("doctor".equals(user)) {
+            Doctor doctor = doctorRepository.findByEmail(identifier);
+            return doctor == null ? null : Topic.doctorSchedule(doctor.getId());
+        }
+        if ("patient".equals(user)) {
+            return patientRepository.findByEmail(identifier)
+                    .map(patient -> Topic.patientSchedule(patient.getId()))
+                    .orElse(null);
+        }
+        return null;
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (!subscriber.open.compareAndSet(true, false)) return;
+        subscriberCount.decrementAndGet();
+        subscribers.computeIfPresent(subscriber.topic, (t, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    // -------------------- EVENTS --------------------
+
+    @Override
+    public void onEvents(List<DomainEvent> events) {
+        if (subscriberCount.get() == 0) return;
+
+        for (DomainEvent event : events) {
+            if (event instanceof DomainEvent.AppointmentBooked e) {
+                slot(e.doctorId(), e.appointmentTime(), "slot-taken");
+                scheduleChange(e.doctorId(), e.patientId(), "booked", e.appointmentId(), e.appointmentTime(), null);
+            } else if (event instanceof DomainEvent.AppointmentCancelled e) {
+                slot(e.doctorId(), e.appointmentTime(), "slot-freed");
+                scheduleChange(e.doctorId(), e.patientId(), "cancelled", e.appointmentId(), e.appointmentTime(), null);
+            } else if (event instanceof DomainEvent.AppointmentRescheduled e) {
+                slot(e.previousDoctorId(), e.previousTime(), "slot-freed");
+                slot(e.doctorId(), e.appointmentTime(), "slot-taken");
+                scheduleChange(e.doctorId(), e.patientId(), "rescheduled",
+                        e.appointmentId(), e.appointmentTime(), e.previousTime());
+                if (!e.doctorId().equals(e.previousDoctorId())) {
+                    scheduleChange(e.previousDoctorId(), null, "rescheduled",
+                            e.appointmentId(), e.appointmentTime(), e.previousTime());
+                }
+            } else if (event instanceof DomainEvent.DoctorUpdated e) {
+                // Published slots may have changed: tell clients to reload
+                doctorChanged(e.doctorId(), "schedule-changed");
+            } else if (event instanceof DomainEvent.DoctorDeleted e) {
+                doctorChanged(e.doctorId(), "doctor-removed");
+            }
+        }
+    }
+
+    private void slot(Long doctorId, LocalDateTime time, String name) {
+        if (doctorId == null || time == null) return;
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("doctorId", doctorId);
+        data.put("appointmentTime", time);
+        broadcast(Topic.availability(doctorId, time.toLocalDate()), name, data);
+    }
+
+    private void scheduleChange(Long doctorId, Long patientId, String change,
+                                Long appointmentId, LocalDateTime time, LocalDateTime previousTime) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("change", change);
+        data.put("appointmentId", appointmentId);
+        data.put("doctorId", doctorId);
+        data.put("appointmentTime", time);
+        if (previousTime != null) data.put("previousTime", previousTime);
+
+        if (doctorId != null) broadcast(Topic.doctorSchedule(doctorId), "appointment-changed", data);
+        if (patientId != null) broadcast(Topic.patientSchedule(patientId), "appointment-changed", data);
+    }
+
+    private void doctorChanged(Long doctorId, String name) {
+        Map<String, Object> data = Map.of("doctorId", doctorId);
+        for (Topic topic : subscribers.keySet()) {
+            if (topic.kind().equals("availability") && topic.id().equals(doctorId)) {
+                broadcast(topic, name, data);
+            }
+        }
+    }
+
+    private void broadcast(Topic topic, String name, Object data) {
+        Set<Subscriber> targets = subscribers.get(topic);
+        if (targets == null) return;
+        for (Subscriber subscriber : targets) {
+            send(subscriber, SseEmitter.event().name(name).data(data));
+        }
+    }
+
+    // -------------------- SENDING --------------------
+
+    private void send(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (!subscriber.open.get()) return;
+        if (!subscriber.queue.offer(event)) {
+            // Too far behind to catch up; the client reconnects and reloads
+            unsubscribe(subscriber);
+            subscriber.queue.clear();
+            subscriber.emitter.complete();
+            return;
+        }
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.queue.isEmpty() || !subscriber.draining.compareAndSet(false, true)) return;
+        try {
+            sender.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        SseEmitter.SseEventBuilder event;
+        while (subscriber.open.get() && (event = subscriber.queue.poll()) != null) {
+            try {
+                subscriber.emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; completion callbacks may not fire for a dead socket
+                unsubscribe(subscriber);
+                subscriber.queue.clear();
+                subscriber.emitter.completeWithError(e);
+                return;
+            }
+        }
+        subscriber.draining.set(false);
+        // Picks up an event offered after the last poll
+        scheduleDrain(subscriber);
+    }
+
+    private void sendHeartbeats() {
+        for (Set<Subscriber> set : subscribers.values()) {
+            for (Subscriber subscriber : set) {
+                send(subscriber, SseEmitter.event().comment("keep-alive"));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        sender.shutdownNow();
+        for (Set<Subscriber> set : subscribers.values()) {
+            for (Subscriber subscriber : set) {
+                subscriber.emitter.complete();
+            }
+        }
+    }
+
+    private static ExecutorService newSender(int threads) {
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(1, threads),
+                r -> daemon(r, "sse-sender-" + count.getAndIncrement()));
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static final class Subscriber {
+
+        final Topic topic;
+        final SseEmitter emitter;
+        final AtomicBoolean open = new AtomicBoolean(true);
+        final ArrayBlockingQueue<SseEmitter.SseEventBuilder> queue;
+        // Held until the snapshot is sent, then set while a drain task runs
+        final AtomicBoolean draining = new AtomicBoolean(true);
+
+        Subscriber(Topic topic, SseEmitter emitter, int queueSize) {
+            this.topic = topic;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueSize);
+        }
+    }
+}
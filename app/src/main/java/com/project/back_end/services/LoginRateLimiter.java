@@ -0,0 +1,117 @@
+package com.project.back_end.services;
+
+import com.project.back_end.config.LoginRateLimitProperties;
+import com.project.back_end.config.LoginRateLimitProperties.Rate;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory token-bucket throttling for login attempts, checked before any
+ * repository lookup or password hashing. Buckets live in a fixed number of
+ * lock stripes, each an LRU map with a share of the configured key budget,
+ * so memory stays bounded and idle buckets fall out on their own.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private static final int STRIPES = 64;
+
+    private final LoginRateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+    private final Map<String, Bucket>[] buckets;
+
+    @SuppressWarnings("unchecked")
+    public LoginRateLimiter(LoginRateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+
+        int perStripe = Math.max(16, properties.getMaxKeys() / STRIPES);
+        this.buckets = new Map[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+            buckets[i] = new LinkedHashMap<>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                    return size() > perStripe;
+                }
+            };
+        }
+    }
+
+    // -------------------- CHECK --------------------
+
+    /**
+     * Takes one token from both the identifier's and the client address's
+     * bucket for this endpoint.
+     *
+     * @param endpoint login endpoint name, e.g. "doctor"
+     * @param identifier email or username being logged in with (may be null)
+     * @param address client IP address (may be null)
+     * @return true if the attempt may proceed, false if it should get a 429
+     */
+    public boolean tryAcquire(String endpoint, String identifier, String address) {
+        LoginRateLimitProperties.Endpoint rates = properties.forEndpoint(endpoint);
+
+        if (address != null && !take(endpoint + "|a|" + address, rates.getAddress())) {
+            reject(endpoint, "address");
+            return false;
+        }
+        if (identifier != null
+                && !take(endpoint + "|i|" + identifier.toLowerCase(Locale.ROOT), rates.getIdentifier())) {
+            reject(endpoint, "identifier");
+            return false;
+        }
+        return true;
+    }
+
+    private boolean take(String key, Rate rate) {
+        int stripe = (key.hashCode() & 0x7fffffff) % STRIPES;
+        long now = System.nanoTime();
+
+        ReentrantLock lock = locks[stripe];
+        lock.lock();
+        try {
+            Bucket bucket = buckets[stripe].get(key);
+            if (bucket == null) {
+                bucket = new Bucket(rate.getCapacity(), now);
+                buckets[stripe].put(key, bucket);
+            }
+            return bucket.take(rate, now);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void reject(String endpoint, String reason) {
+        meterRegistry.counter("clinic.login.rejected", "endpoint", endpoint, "reason", reason).increment();
+    }
+
+    // -------------------- BUCKET --------------------
+
+    private static final class Bucket {
+
+        private double tokens;
+        private long lastRefill;
+
+        Bucket(int capacity, long now) {
+            this.tokens = capacity;
+            this.lastRefill = now;
+        }
+
+        boolean take(Rate rate, long now) {
+            double perNano = rate.getPerMinute() / 60_000_000_000d;
+            tokens = Math.min(rate.getCapacity(), tokens + (now - lastRefill) * perNano);
+            lastRefill = now;
+            if (tokens < 1) return false;
+            tokens -= 1;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.project.back_end.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Central password hashing for admin, doctor and patient credentials.
+ *
+ * BCrypt runs on a small bounded worker pool so a burst of logins or
+ * sign-ups cannot occupy every request thread with hashing; when the pool
+ * and its queue are full, callers get a {@link RejectedExecutionException}
+ * straight away and should answer 503.
+ */
+@Service
+public class PasswordHashingService {
+
+    private final BCryptPasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    private final Timer hashTimer;
+    private final Timer verifyTimer;
+
+    public PasswordHashingService(
+            @Value("${security.password.bcrypt-strength:10}") int strength,
+            @Value("${security.password.hash-threads:4}") int threads,
+            @Value("${security.password.queue-capacity:64}") int queueCapacity,
+            @Value("${security.password.timeout-ms:5000}") long timeoutMillis,
+            MeterRegistry meterRegistry
+    ) {
+        this.encoder = new BCryptPasswordEncoder(strength);
+        this.timeoutMillis = timeoutMillis;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        this.hashTimer = Timer.builder("clinic.password.hash")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.verifyTimer = Timer.builder("clinic.password.verify")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    // -------------------- HASH / VERIFY --------------------
+
+    /**
+     * Hashes a raw password with the configured cost factor.
+     *
+     * @throws RejectedExecutionException if the hashing pool is saturated
+     */
+    public String hash(String rawPassword) {
+        return run(() -> hashTimer.record(() -> encoder.encode(rawPassword)));
+    }
+
+    /**
+     * Checks a raw password against a stored BCrypt hash.
+     *
+     * @throws RejectedExecutionException if the hashing pool is saturated
+     */
+    public boolean verify(String rawPassword, String hash) {
+        if (rawPassword == null || hash == null) return false;
+        Boolean matches = run(() -> verifyTimer.record(() -> encoder.matches(rawPassword, hash)));
+        return Boolean.TRUE.equals(matches);
+    }
+
+    /**
+     * @return true if the hash was made with a lower cost factor than the
+     *         configured one and should be replaced after a successful login
+     */
+    public boolean needsRehash(String hash) {
+        return hash != null && encoder.upgradeEncoding(hash);
+    }
+
+    // -------------------- EXECUTION --------------------
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future = executor.submit(task);
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new RejectedExecutionException("Password hashing timed out", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while hashing", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
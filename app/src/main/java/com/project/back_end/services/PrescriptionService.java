@@ -1,34 +1,298 @@
 package com.project.back_end.services;
 
+import com.project.back_end.models.Prescription;
+import com.project.back_end.repo.PrescriptionRepository;
+import io.micrometer.core.annotation.Timed;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Collation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+@Service
+@Timed("clinic.service")
 public class PrescriptionService {
-    
- // 1. **Add @Service Annotation**:
-//    - The `@Service` annotation marks this class as a Spring service component, allowing Spring's container to manage it.
-//    - This class contains the business logic related to managing prescriptions in the healthcare system.
-//    - Instruction: Ensure the `@Service` annotation is applied to mark this class as a Spring-managed service.
-
-// 2. **Constructor Injection for Dependencies**:
-//    - The `PrescriptionService` class depends on the `PrescriptionRepository` to interact with the database.
-//    - It is injected through the constructor, ensuring proper dependency management and enabling testing.
-//    - Instruction: Constructor injection is a good practice, ensuring that all necessary dependencies are available at the time of service initialization.
-
-// 3. **savePrescription Method**:
-//    - This method saves a new prescription to the database.
-//    - Before saving, it checks if a prescription already exists for the same appointment (using the appointment ID).
-//    - If a prescription exists, it returns a `400 Bad Request` with a message stating the prescription already exists.
-//    - If no prescription exists, it saves the new prescription and returns a `201 Created` status with a success message.
-//    - Instruction: Handle errors by providing appropriate status codes and messages, ensuring that multiple prescriptions for the same appointment are not saved.
-
-// 4. **getPrescription Method**:
-//    - Retrieves a prescription associated with a specific appointment based on the `appointmentId`.
-//    - If a prescription is found, it returns it within a map wrapped in a `200 OK` status.
-//    - If there is an error while fetching the prescription, it logs the error and returns a `500 Internal Server Error` status with an error message.
-//    - Instruction: Ensure that this method handles edge cases, such as no prescriptions found for the given appointment, by returning meaningful responses.
-
-// 5. **Exception Handling and Error Responses**:
-//    - Both methods (`savePrescription` and `getPrescription`) contain try-catch blocks to handle exceptions that may occur during database interaction.
-//    - If an error occurs, the method logs the error and returns an HTTP `500 Internal Server Error` response with a corresponding error message.
-//    - Instruction: Ensure that all potential exceptions are handled properly, and meaningful responses are returned to the client.
 
+    /** Upper bound on appointment ids per batch lookup. */
+    public static final int MAX_BATCH_SIZE = 500;
+
+    /** Upper bound on results per search page. */
+    public static final int MAX_SEARCH_PAGE_SIZE = 100;
+
+    private static final Set<String> BATCH_FIELDS =
+            Set.of("id", "patientName", "medication", "dosage", "doctorNotes");
+
+    // Must match the collation of idx_prescription_medication_prefix
+    private static final Collation MEDICATION_COLLATION =
+            Collation.of("en").strength(Collation.ComparisonLevel.secondary());
+
+    /** How {@link #searchPrescriptions} matches the query. */
+    public enum SearchMode {
+        /** Words in medication, patient name or doctor notes, by relevance. */
+        TEXT,
+        /** Medication names starting with the query, alphabetically. */
+        PREFIX;
+
+        public static SearchMode of(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new IllegalArgumentException("Unknown search mode: " + value);
+            }
+        }
+    }
+
+    private final PrescriptionRepository prescriptionRepository;
+    private final MongoTemplate mongoTemplate;
+
+    public PrescriptionService(PrescriptionRepository prescriptionRepository, MongoTemplate mongoTemplate) {
+        this.prescriptionRepository = prescriptionRepository;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /* -------------------- SAVE PRESCRIPTION -------------------- */
+    public ResponseEntity<Map<String, String>> savePrescription(Prescription prescription) {
+
+        Map<String, String> response = new HashMap<>();
+
+        try {
+            if (!prescriptionRepository.findByAppointmentId(prescription.getAppointmentId()).isEmpty()) {
+                response.put("message", "Prescription already exists for this appointment");
+                return ResponseEntity.badRequest().body(response);
+            }
+            prescriptionRepository.save(prescription);
+        } catch (DuplicateKeyException e) {
+            // Lost a race with a concurrent save; the unique index caught it
+            response.put("message", "Prescription already exists for this appointment");
+            return ResponseEntity.badRequest().body(response);
+        } catch (Exception e) {
+            response.put("message", "Some internal error occurred");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+
+        response.put("message", "Prescription saved");
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    /* -------------------- GET PRESCRIPTION -------------------- */
+    public Prescription getPrescription(Long appointmentId) {
+        List<Prescription> prescriptions = prescriptionRepository.findByAppointmentId(appointmentId);
+        return prescriptions.isEmpty() ? null : prescriptions.get(0);
+    }
+
+    /* -------------------- GET PRESCRIPTIONS (BATCH) -------------------- */
+
+    /**
+     * Looks up the prescriptions of many appointments with one indexed
+     * {@code $in} query, returning only the requested fields.
+     *
+     * @param appointmentIds appointments to resolve, at most {@link #MAX_BATCH_SIZE}
+     * @param fields prescription fields to include, or null/empty to only
+     *               report which appointments have one
+     * @return one entry per requested appointment id, null where no
+     *         prescription exists
+     * @throws IllegalArgumentException if there are too many ids or a field
+     *                                  name is unknown
+     */
+    public Map<Long, Map<String, Object>> getPrescriptions(Collection<Long> appointmentIds, Set<String> fields) {
+
+        Set<Long> ids = batchIds(appointmentIds);
+        Set<String> projection = batchFields(fields);
+
+        Map<Long, Map<String, Object>> result = new LinkedHashMap<>();
+        for (Long id : ids) {
+            result.put(id, null);
+        }
+        if (ids.isEmpty()) return result;
+
+        // Raw documents: only the projected fields are read, no entity mapping
+        for (Document document : mongoTemplate.find(batchQuery(ids, projection), Document.class, "prescriptions")) {
+            result.put(((Number) document.get("appointmentId")).longValue(), batchRow(document, projection));
+        }
+        return result;
+    }
+
+    // Shared with ReactivePrescriptionService
+
+    static Set<Long> batchIds(Collection<Long> appointmentIds) {
+        Set<Long> ids = new LinkedHashSet<>(appointmentIds);
+        ids.remove(null);
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " appointment ids per request");
+        }
+        return ids;
+    }
+
+    static Set<String> batchFields(Set<String> fields) {
+        Set<String> projection = fields == null ? Set.of() : fields;
+        for (String field : projection) {
+            if (!BATCH_FIELDS.contains(field)) {
+                throw new IllegalArgumentException("Unknown field: " + field);
+            }
+        }
+        return projection;
+    }
+
+    static Query batchQuery(Set<Long> ids, Set<String> projection) {
+        Query query = new Query(Criteria.where("appointmentId").in(ids));
+        query.fields().include("appointmentId");
+        for (String field : projection) {
+            query.fields().include(field.equals("id") ? "_id" : field);
+        }
+        if (!projection.contains("id")) {
+            query.fields().exclude("_id");
+        }
+        return query;
+    }
+
+    static Map<String, Object> batchRow(Document document, Set<String> projection) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (String field : projection) {
+            Object value = document.get(field.equals("id") ? "_id" : field);
+            row.put(field, field.equals("id") && value != null ? value.toString() : value);
+        }
+        return row;
+    }
+
+    /* -------------------- SEARCH PRESCRIPTIONS -------------------- */
+
+    /**
+     * Searches prescriptions one keyset page at a time. Both modes are
+     * index-bound: text search reads only the text index entries of the
+     * query words, prefix search a range of the medication index, and no
+     * page skips over earlier results.
+     *
+     * @param text words to search for, or a medication name prefix
+     * @param mode text or prefix matching
+     * @param cursor opaque cursor from a previous page, or null for the first page
+     * @param limit page size, capped at {@link #MAX_SEARCH_PAGE_SIZE}
+     * @param fields prescription fields to include, or null/empty for all
+     * @return map with "prescriptions" and "next" (null on the last page);
+     *         text results also carry their relevance "score"
+     * @throws IllegalArgumentException if the query, cursor or a field name is invalid
+     */
+    public Map<String, Object> searchPrescriptions(String text, SearchMode mode, String cursor,
+                                                   int limit, Set<String> fields) {
+
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Search text is required");
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_SEARCH_PAGE_SIZE));
+        Set<String> projection = (fields == null || fields.isEmpty()) ? BATCH_FIELDS : fields;
+        for (String field : projection) {
+            if (!BATCH_FIELDS.contains(field)) {
+                throw new IllegalArgumentException("Unknown field: " + field);
+            }
+        }
+
+        // One extra row tells whether another page follows
+        List<Document> documents = mode == SearchMode.TEXT
+                ? textPage(text.trim(), decodeCursor(cursor, "t"), pageSize + 1, projection)
+                : prefixPage(text.trim(), decodeCursor(cursor, "p"), pageSize + 1, projection);
+
+        boolean hasNext = documents.size() > pageSize;
+        if (hasNext) {
+            documents = documents.subList(0, pageSize);
+        }
+
+        List<Map<String, Object>> page = new ArrayList<>(documents.size());
+        for (Document document : documents) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("appointmentId", document.get("appointmentId"));
+            for (String field : projection) {
+                Object value = document.get(field.equals("id") ? "_id" : field);
+                row.put(field, field.equals("id") && value != null ? value.toString() : value);
+            }
+            if (mode == SearchMode.TEXT) row.put("score", document.get("score"));
+            page.add(row);
+        }
+
+        String next = null;
+        if (hasNext) {
+            Document last = documents.get(documents.size() - 1);
+            next = mode == SearchMode.TEXT
+                    ? encodeCursor("t", last.getObjectId("_id"), String.valueOf(last.getDouble("score")))
+                    : encodeCursor("p", last.getObjectId("_id"), last.getString("medication"));
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("prescriptions", page);
+        response.put("next", next);
+        return response;
+    }
+
+    // Best matches first, ties by _id. The score only exists after $text
+    // matched, so the cursor condition follows it as a second $match.
+    private List<Document> textPage(String text, String[] after, int limit, Set<String> projection) {
+        Document fields = new Document("appointmentId", 1).append("score", new Document("$meta", "textScore"));
+        for (String field : projection) {
+            if (!field.equals("id")) fields.append(field, 1);
+        }
+
+        List<Document> pipeline = new ArrayList<>();
+        pipeline.add(new Document("$match", new Document("$text", new Document("$search", text))));
+        pipeline.add(new Document("$project", fields));
+        if (after != null) {
+            double score = Double.parseDouble(after[1]);
+            ObjectId id = new ObjectId(after[0]);
+            pipeline.add(new Document("$match", new Document("$or", List.of(
+                    new Document("score", new Document("$lt", score)),
+                    new Document("score", score).append("_id", new Document("$gt", id))))));
+        }
+        // $sort followed by $limit keeps only the top rows in memory
+        pipeline.add(new Document("$sort", new Document("score", -1).append("_id", 1)));
+        pipeline.add(new Document("$limit", limit));
+
+        return mongoTemplate.getCollection("prescriptions").aggregate(pipeline).into(new ArrayList<>());
+    }
+
+    // Case-insensitive range [prefix, prefix + U+FFFF) on the collated
+    // medication index; U+FFFF sorts after every character in the collation
+    private List<Document> prefixPage(String prefix, String[] after, int limit, Set<String> projection) {
+        Criteria range = Criteria.where("medication").gte(prefix).lt(prefix + '\uffff');
+        Query query = after == null
+                ? new Query(range)
+                : new Query(new Criteria().andOperator(range, new Criteria().orOperator(
+                        Criteria.where("medication").gt(after[1]),
+                        Criteria.where("medication").is(after[1]).and("_id").gt(new ObjectId(after[0])))));
+        query.collation(MEDICATION_COLLATION)
+                .with(Sort.by(Sort.Order.asc("medication"), Sort.Order.asc("_id")))
+                .limit(limit);
+        query.fields().include("appointmentId", "medication");
+        for (String field : projection) {
+            if (!field.equals("id")) query.fields().include(field);
+        }
+
+        return mongoTemplate.find(query, Document.class, "prescriptions");
+    }
+
+    // Cursor: kind, last _id and last sort value (score or medication)
+    private String encodeCursor(String kind, ObjectId id, String value) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((kind + ":" + id.toHexString() + ":" + value).getBytes(StandardCharsets.UTF_8));
+    }
 
+    private String[] decodeCursor(String cursor, String kind) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(":", 3);
+            if (parts.length != 3 || !parts[0].equals(kind) || !ObjectId.isValid(parts[1])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            if (kind.equals("t")) Double.parseDouble(parts[2]);
+            return new String[] {parts[1], parts[2]};
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
 }
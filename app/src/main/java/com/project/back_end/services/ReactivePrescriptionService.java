@@ -0,0 +1,135 @@
+package com.project.back_end.services;
+
+import com.project.back_end.models.Prescription;
+import com.project.back_end.repo.ReactivePrescriptionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.observability.micrometer.Micrometer;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Prescription reads and writes on the reactive Mongo driver. Nothing here
+ * blocks: the servlet request is released while Mongo works and resumed
+ * when the result arrives, so a slow Mongo node costs pending requests,
+ * not request threads. Every call is bounded by
+ * {@code prescription.reactive.timeout-ms}.
+ *
+ * Not {@code @Timed}: the aspect would only time building the publisher.
+ * Each chain reports to {@code clinic.prescription.reactive} instead, from
+ * subscription to completion, tagged by method.
+ *
+ * Same behaviour and validation as {@link PrescriptionService}.
+ */
+@Service
+public class ReactivePrescriptionService {
+
+    /** Documents requested from the cursor at a time while streaming. */
+    private static final int STREAM_PREFETCH = 64;
+
+    private static final String METRIC = "clinic.prescription.reactive";
+
+    private final ReactivePrescriptionRepository prescriptionRepository;
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Duration timeout;
+
+    public ReactivePrescriptionService(
+            ReactivePrescriptionRepository prescriptionRepository,
+            ReactiveMongoTemplate mongoTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${prescription.reactive.timeout-ms:5000}") long timeoutMs
+    ) {
+        this.prescriptionRepository = prescriptionRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.meterRegistry = meterRegistry;
+        this.timeout = Duration.ofMillis(timeoutMs);
+    }
+
+    /* -------------------- SAVE PRESCRIPTION -------------------- */
+    public Mono<ResponseEntity<Map<String, String>>> savePrescription(Prescription prescription) {
+
+        return prescriptionRepository.findByAppointmentId(prescription.getAppointmentId())
+                .hasElements()
+                .flatMap(exists -> exists
+                        ? Mono.just(message(HttpStatus.BAD_REQUEST, "Prescription already exists for this appointment"))
+                        : prescriptionRepository.save(prescription)
+                                .map(saved -> message(HttpStatus.CREATED, "Prescription saved")))
+                .timeout(timeout)
+                .name(METRIC)
+                .tag("method", "savePrescription")
+                .tap(Micrometer.metrics(meterRegistry))
+                // Lost a race with a concurrent save; the unique index caught it
+                .onErrorResume(DuplicateKeyException.class, e ->
+                        Mono.just(message(HttpStatus.BAD_REQUEST, "Prescription already exists for this appointment")))
+                .onErrorResume(e ->
+                        Mono.just(message(HttpStatus.INTERNAL_SERVER_ERROR, "Some internal error occurred")));
+    }
+
+    /* -------------------- GET PRESCRIPTION -------------------- */
+
+    /**
+     * @return the appointment's prescription, or empty if it has none
+     */
+    public Mono<Prescription> getPrescription(Long appointmentId) {
+        return prescriptionRepository.findByAppointmentId(appointmentId)
+                .next()
+                .timeout(timeout)
+                .name(METRIC)
+                .tag("method", "getPrescription")
+                .tap(Micrometer.metrics(meterRegistry));
+    }
+
+    /* -------------------- STREAM PRESCRIPTIONS (BATCH) -------------------- */
+
+    /**
+     * Streams the prescriptions of many appointments from one indexed
+     * {@code $in} query as they come off the cursor. Documents are pulled
+     * only as fast as the client reads, {@value #STREAM_PREFETCH} at a time.
+     *
+     * Arguments are checked before anything is queried, so bad input fails
+     * the call itself rather than the stream.
+     *
+     * @param appointmentIds appointments to resolve, at most {@link PrescriptionService#MAX_BATCH_SIZE}
+     * @param fields prescription fields to include besides appointmentId
+     * @return one row per existing prescription; appointments without one
+     *         are absent
+     * @throws IllegalArgumentException if there are too many ids or a field
+     *                                  name is unknown
+     */
+    public Flux<Map<String, Object>> streamPrescriptions(Collection<Long> appointmentIds, Set<String> fields) {
+
+        Set<Long> ids = PrescriptionService.batchIds(appointmentIds);
+        Set<String> projection = PrescriptionService.batchFields(fields);
+        if (ids.isEmpty()) return Flux.empty();
+
+        return mongoTemplate.find(PrescriptionService.batchQuery(ids, projection), Document.class, "prescriptions")
+                .limitRate(STREAM_PREFETCH)
+                // Bounds the wait for each next document, not the whole stream
+                .timeout(timeout)
+                .name(METRIC)
+                .tag("method", "streamPrescriptions")
+                .tap(Micrometer.metrics(meterRegistry))
+                .map(document -> {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("appointmentId", ((Number) document.get("appointmentId")).longValue());
+                    row.putAll(PrescriptionService.batchRow(document, projection));
+                    return row;
+                });
+    }
+
+    private static ResponseEntity<Map<String, String>> message(HttpStatus status, String message) {
+        Map<String, String> response = new HashMap<>();
+        response.put("message", message);
+        return ResponseEntity.status(status).body(response);
+    }
+}
@@ -0,0 +1,126 @@
+package com.project.back_end.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Short-lived reservations of (doctor, slot) pairs, taken before an
+ * appointment is booked so that concurrent bookings of the same slot fail
+ * fast in memory instead of racing on the database.
+ *
+ * Holds expire after a fixed TTL; an expired hold is simply replaced by the
+ * next caller and swept periodically.
+ */
+@Component
+public class SlotHoldRegistry {
+
+    /** Sweep expired holds every this many new holds. */
+    private static final int SWEEP_INTERVAL = 256;
+
+    private final long ttlMillis;
+
+    private final ConcurrentHashMap<SlotKey, Hold> holdsBySlot = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Hold> holdsById = new ConcurrentHashMap<>();
+
+    private final AtomicInteger holdsSinceSweep = new AtomicInteger();
+    private final LongAdder conflicts = new LongAdder();
+
+    public SlotHoldRegistry(@Value("${appointment.hold.ttl-seconds:120}") long ttlSeconds) {
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    // -------------------- HOLD --------------------
+
+    /**
+     * Tries to reserve a slot.
+     *
+     * @param doctorId id of the doctor
+     * @param time start of the slot
+     * @return id of the new hold, or null if someone else holds the slot
+     */
+    public String hold(Long doctorId, LocalDateTime time) {
+        long now = System.currentTimeMillis();
+        SlotKey key = new SlotKey(doctorId, time);
+        Hold fresh = new Hold(UUID.randomUUID().toString(), key, now + ttlMillis);
+
+        Hold winner = holdsBySlot.compute(key,
+                (k, current) -> current == null || current.expiresAt <= now ? fresh : current);
+
+        if (winner != fresh) {
+            conflicts.increment();
+            return null;
+        }
+        holdsById.put(fresh.id, fresh);
+
+        if (holdsSinceSweep.incrementAndGet() >= SWEEP_INTERVAL) {
+            holdsSinceSweep.set(0);
+            sweep(now);
+        }
+        return fresh.id;
+    }
+
+    /**
+     * Checks that a hold is still live and covers the given slot.
+     */
+    public boolean isHeld(String holdId, Long doctorId, LocalDateTime time) {
+        Hold hold = holdId == null ? null : holdsById.get(holdId);
+        return hold != null
+                && hold.expiresAt > System.currentTimeMillis()
+                && hold.key.equals(new SlotKey(doctorId, time))
+                && holdsBySlot.get(hold.key) == hold;
+    }
+
+    /**
+     * Releases a hold after the booking was confirmed or abandoned.
+     */
+    public void release(String holdId) {
+        if (holdId == null) return;
+        Hold hold = holdsById.remove(holdId);
+        if (hold != null) {
+            holdsBySlot.remove(hold.key, hold);
+        }
+    }
+
+    /**
+     * @return epoch millis at which the hold expires, or 0 if it is unknown
+     */
+    public long expiresAt(String holdId) {
+        Hold hold = holdId == null ? null : holdsById.get(holdId);
+        return hold == null ? 0L : hold.expiresAt;
+    }
+
+    // -------------------- STATISTICS --------------------
+
+    public long getConflictCount() {
+        return conflicts.sum();
+    }
+
+    public int getActiveHoldCount() {
+        return holdsBySlot.size();
+    }
+
+    // -------------------- EXPIRY --------------------
+
+    private void sweep(long now) {
+        for (Map.Entry<SlotKey, Hold> entry : holdsBySlot.entrySet()) {
+            Hold hold = entry.getValue();
+            if (hold.expiresAt <= now && holdsBySlot.remove(entry.getKey(), hold)) {
+                holdsById.remove(hold.id, hold);
+            }
+        }
+        holdsById.values().removeIf(hold -> hold.expiresAt <= now);
+    }
+
+    private record SlotKey(Long doctorId, LocalDateTime time) {
+    }
+
+    private record Hold(String id, SlotKey key, long expiresAt) {
+    }
+}
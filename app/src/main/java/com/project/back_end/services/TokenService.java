@@ -3,40 +3,61 @@ package com.project.back_end.services;
 import com.project.back_end.models.Admin;
 import com.project.back_end.models.Doctor;
 import com.project.back_end.models.Patient;
-import com.project.back_end.repositories.AdminRepository;
-import com.project.back_end.repositories.DoctorRepository;
-import com.project.back_end.repositories.PatientRepository;
+import com.project.back_end.repo.AdminRepository;
+import com.project.back_end.repo.DoctorRepository;
+import com.project.back_end.repo.PatientRepository;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.Map;
 
 /**
  * Service class for generating, extracting, and validating JWT tokens for users.
  * Supports Admin, Doctor, and Patient entities.
  */
 @Component
+@Timed("clinic.service")
 public class TokenService {
 
     private final AdminRepository adminRepository;
     private final DoctorRepository doctorRepository;
     private final PatientRepository patientRepository;
+    private final TokenValidationCache validationCache;
+    private final MeterRegistry meterRegistry;
 
     @Value("${jwt.secret}")
     private String jwtSecret;
 
+    private SecretKey signingKey;
+
     public TokenService(
             AdminRepository adminRepository,
             DoctorRepository doctorRepository,
-            PatientRepository patientRepository
+            PatientRepository patientRepository,
+            TokenValidationCache validationCache,
+            MeterRegistry meterRegistry
     ) {
         this.adminRepository = adminRepository;
         this.doctorRepository = doctorRepository;
         this.patientRepository = patientRepository;
+        this.validationCache = validationCache;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Builds the HMAC signing key once, after the secret has been injected.
+     */
+    @PostConstruct
+    void initSigningKey() {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
     }
 
     // -------------------- GENERATE TOKEN --------------------
@@ -56,9 +77,9 @@ public class TokenService {
         Date expiryDate = new Date(now.getTime() + 7L * 24 * 60 * 60 * 1000); // 7 days validity
 
         return Jwts.builder()
-                .setSubject(identifier)
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
+                .subject(identifier)
+                .issuedAt(now)
+                .expiration(expiryDate)
                 .signWith(getSigningKey())
                 .compact();
     }
@@ -73,39 +94,90 @@ public class TokenService {
      * @throws io.jsonwebtoken.JwtException if token is invalid or expired
      */
     public String extractIdentifier(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
+        return parseClaims(token).getSubject();
+    }
+
+    private Claims parseClaims(String token) {
+        return Jwts.parser()
+                .verifyWith(getSigningKey())
                 .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.getSubject();
+                .parseSignedClaims(token)
+                .getPayload();
     }
 
     // -------------------- VALIDATE TOKEN --------------------
 
     /**
      * Validates the JWT token for a specific user type.
+     * Successful validations are cached until the token expires or the
+     * cache TTL elapses, so repeat calls skip parsing and the user lookup.
      *
      * @param token JWT token to validate
      * @param userType type of user: "admin", "doctor", or "patient"
      * @return true if token is valid and user exists, false otherwise
      */
     public boolean validateToken(String token, String userType) {
+        String role = userType == null ? "unknown" : userType.toLowerCase();
+        String outcome = checkToken(token, role);
+        meterRegistry.counter("clinic.token.validations", "role", roleTag(role), "outcome", outcome).increment();
+        return !outcome.equals("invalid");
+    }
+
+    // The role comes from the request path; unknown values share one tag so
+    // clients can't create new time series
+    private static String roleTag(String role) {
+        return switch (role) {
+            case "admin", "doctor", "patient" -> role;
+            default -> "other";
+        };
+    }
+
+    /**
+     * @return "cached" or "valid" for an accepted token, "invalid" otherwise
+     */
+    private String checkToken(String token, String role) {
         try {
-            String identifier = extractIdentifier(token);
+            String cacheKey = TokenValidationCache.key(token, role);
+            if (validationCache.isValid(cacheKey)) {
+                return "cached";
+            }
+
+            Claims claims = parseClaims(token);
+            String identifier = claims.getSubject();
 
-            return switch (userType.toLowerCase()) {
+            boolean exists = switch (role) {
                 case "admin" -> adminRepository.findByUsername(identifier) != null;
                 case "doctor" -> doctorRepository.findByEmail(identifier) != null;
                 case "patient" -> patientRepository.findByEmail(identifier) != null;
                 default -> false;
             };
+
+            if (exists) {
+                validationCache.put(cacheKey, identifier, claims.getExpiration().getTime());
+            }
+            return exists ? "valid" : "invalid";
         } catch (Exception e) {
             // Could log e.getMessage() for debugging
-            return false;
+            return "invalid";
         }
     }
 
+    /**
+     * Drops cached validations for a user whose account was removed.
+     *
+     * @param identifier username (admin) or email (doctor, patient)
+     */
+    public void invalidateUser(String identifier) {
+        validationCache.invalidateUser(identifier);
+    }
+
+    /**
+     * @return hit/miss statistics of the validation cache
+     */
+    public Map<String, Long> getValidationCacheStats() {
+        return validationCache.getStats();
+    }
+
     // -------------------- SIGNING KEY --------------------
 
     /**
@@ -114,6 +186,6 @@ public class TokenService {
      * @return SecretKey
      */
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        return signingKey;
     }
 }
@@ -0,0 +1,151 @@
+package com.project.back_end.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of successfully validated tokens.
+ * Entries are keyed by a SHA-256 digest of the token plus the role it was
+ * validated for, and expire after a fixed TTL or at the token's own
+ * expiry, whichever comes first. Only positive results are cached.
+ */
+@Component
+public class TokenValidationCache {
+
+    private final int maxSize;
+    private final long ttlMillis;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public TokenValidationCache(
+            @Value("${jwt.cache.max-size:10000}") int maxSize,
+            @Value("${jwt.cache.ttl-seconds:300}") long ttlSeconds
+    ) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    // -------------------- LOOKUP --------------------
+
+    /**
+     * Checks whether the token was recently validated for the given role.
+     *
+     * @param key key built with {@link #key(String, String)}
+     * @return true on a live cache hit
+     */
+    public boolean isValid(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return false;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            misses.increment();
+            return false;
+        }
+        hits.increment();
+        return true;
+    }
+
+    /**
+     * Records a successful validation.
+     *
+     * @param key key built with {@link #key(String, String)}
+     * @param identifier subject of the token (username or email)
+     * @param tokenExpiresAt the token's {@code exp} claim in epoch millis
+     */
+    public void put(String key, String identifier, long tokenExpiresAt) {
+        long expiresAt = Math.min(System.currentTimeMillis() + ttlMillis, tokenExpiresAt);
+        if (maxSize <= 0 || expiresAt <= System.currentTimeMillis()) return;
+
+        if (entries.size() >= maxSize) {
+            makeRoom();
+        }
+        entries.put(key, new Entry(identifier, expiresAt));
+    }
+
+    // -------------------- INVALIDATION --------------------
+
+    /**
+     * Removes every cached token issued to the given user, e.g. after the
+     * account was deleted.
+     *
+     * @param identifier username or email stored as the token subject
+     */
+    public void invalidateUser(String identifier) {
+        if (identifier == null) return;
+        entries.values().removeIf(entry -> identifier.equals(entry.identifier));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    // -------------------- STATISTICS --------------------
+
+    /**
+     * @return hit/miss/eviction counters and the current size
+     */
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("evictions", evictions.sum());
+        stats.put("size", (long) entries.size());
+        return stats;
+    }
+
+    // -------------------- KEYS --------------------
+
+    /**
+     * Builds the cache key for a token and role without keeping the raw
+     * token in memory.
+     */
+    public static String key(String token, String role) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return role + ':' + Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // -------------------- EVICTION --------------------
+
+    private void makeRoom() {
+        long now = System.currentTimeMillis();
+        int before = entries.size();
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+
+        // Still full: drop an arbitrary tenth of the entries rather than
+        // tracking access order on every hit.
+        if (entries.size() >= maxSize) {
+            int toDrop = entries.size() - maxSize + Math.max(1, maxSize / 10);
+            Iterator<String> it = entries.keySet().iterator();
+            while (toDrop-- > 0 && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        }
+        evictions.add(Math.max(0, before - entries.size()));
+    }
+
+    private record Entry(String identifier, long expiresAt) {
+    }
+}
@@ -0,0 +1,43 @@
+-- Schema as previously created by hibernate.ddl-auto=update, unchanged.
+-- Databases that already have these tables are baselined at version 1
+-- (spring.flyway.baseline-on-migrate) and skip this script, so every later
+-- change belongs in V2 and up. Constraint names differ from Hibernate's
+-- generated ones; nothing refers to them.
+
+CREATE TABLE doctors (
+    id        BIGINT       NOT NULL AUTO_INCREMENT,
+    name      VARCHAR(100) NOT NULL,
+    specialty VARCHAR(50)  NOT NULL,
+    email     VARCHAR(255) NOT NULL,
+    password  VARCHAR(255) NOT NULL,
+    phone     VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_doctors_email UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE doctor_available_times (
+    doctor_id      BIGINT       NOT NULL,
+    available_time VARCHAR(255),
+    CONSTRAINT fk_doctor_available_times_doctor FOREIGN KEY (doctor_id) REFERENCES doctors (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE patient (
+    id       BIGINT       NOT NULL AUTO_INCREMENT,
+    name     VARCHAR(100) NOT NULL,
+    email    VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    phone    VARCHAR(255) NOT NULL,
+    address  VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE appointment (
+    id               BIGINT      NOT NULL AUTO_INCREMENT,
+    doctor_id        BIGINT      NOT NULL,
+    patient_id       BIGINT      NOT NULL,
+    appointment_time DATETIME(6) NOT NULL,
+    status           INTEGER     NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_appointment_doctor FOREIGN KEY (doctor_id) REFERENCES doctors (id),
+    CONSTRAINT fk_appointment_patient FOREIGN KEY (patient_id) REFERENCES patient (id)
+) ENGINE = InnoDB;
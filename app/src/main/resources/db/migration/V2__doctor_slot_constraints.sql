@@ -0,0 +1,25 @@
+-- Doctor slot uniqueness and the slot start hour used by the time-of-day
+-- filters. Online like the other index migrations: ALGORITHM=INPLACE,
+-- LOCK=NONE keeps reads and writes going, and MySQL fails the statement
+-- rather than silently falling back to a table copy.
+
+-- One booking per doctor slot; also serves (doctor_id, appointment_time)
+-- lookups. Runs first so that nothing has changed yet if it fails.
+--
+-- Existing double bookings make this fail with "Duplicate entry
+-- '<doctor_id>-<appointment_time>' for key 'appointment.uk_appointment_doctor_time'".
+-- Resolve them before re-running (flyway repair, then migrate); list them with
+--   SELECT doctor_id, appointment_time, COUNT(*) FROM appointment
+--   GROUP BY doctor_id, appointment_time HAVING COUNT(*) > 1;
+ALTER TABLE appointment
+    ADD UNIQUE INDEX uk_appointment_doctor_time (doctor_id, appointment_time),
+    ALGORITHM = INPLACE, LOCK = NONE;
+
+-- Filled for new slots by the application and for existing ones by V4
+ALTER TABLE doctor_available_times
+    ADD COLUMN start_hour INTEGER,
+    ALGORITHM = INPLACE, LOCK = NONE;
+
+ALTER TABLE doctor_available_times
+    ADD INDEX idx_doctor_slot_start_hour (start_hour, doctor_id),
+    ALGORITHM = INPLACE, LOCK = NONE;
@@ -0,0 +1,27 @@
+-- Indexes for the appointment, doctor and patient hot paths.
+-- ALGORITHM=INPLACE, LOCK=NONE builds each index online: reads and writes
+-- continue during the build, and MySQL fails the statement rather than
+-- silently falling back to a table copy.
+
+-- Patient dashboards: a patient's appointments by status, in time order
+-- (patient_id also backs fk_appointment_patient)
+ALTER TABLE appointment
+    ADD INDEX idx_appointment_patient_status_time (patient_id, status, appointment_time),
+    ALGORITHM = INPLACE, LOCK = NONE;
+
+-- Date-range scans without a doctor (admin export, reporting)
+ALTER TABLE appointment
+    ADD INDEX idx_appointment_time (appointment_time),
+    ALGORITHM = INPLACE, LOCK = NONE;
+
+-- Doctor filters by specialty (email is already covered by uk_doctors_email)
+ALTER TABLE doctors
+    ADD INDEX idx_doctors_specialty (specialty),
+    ALGORITHM = INPLACE, LOCK = NONE;
+
+-- Patient login and lookups by email or phone. Not unique: existing data was
+-- never constrained, so uniqueness stays an application-level signup check.
+ALTER TABLE patient
+    ADD INDEX idx_patient_email (email),
+    ADD INDEX idx_patient_phone (phone),
+    ALGORITHM = INPLACE, LOCK = NONE;
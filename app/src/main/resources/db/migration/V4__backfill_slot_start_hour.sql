@@ -0,0 +1,9 @@
+-- Slots saved before start_hour existed have it NULL and are missed by the
+-- indexed time-of-day filters. Same rule as AvailableSlot.startHourOf:
+-- the number before the first ':' if it is an hour of day.
+UPDATE doctor_available_times
+SET start_hour = CAST(TRIM(SUBSTRING_INDEX(available_time, ':', 1)) AS UNSIGNED)
+WHERE start_hour IS NULL
+  AND TRIM(SUBSTRING_INDEX(available_time, ':', 1)) REGEXP '^[0-9]+$'
+  AND LOCATE(':', available_time) > 1
+  AND CAST(TRIM(SUBSTRING_INDEX(available_time, ':', 1)) AS UNSIGNED) < 24;
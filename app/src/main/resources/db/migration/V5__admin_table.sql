@@ -0,0 +1,8 @@
+-- Admin accounts, looked up by username at login and token validation.
+-- Admin was not mapped before, so ddl-auto=update never created this table.
+CREATE TABLE admin (
+    id       BIGINT       NOT NULL AUTO_INCREMENT,
+    username VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
@@ -44,3 +44,38 @@ export async function getPrescription(appointmentId, token) {
     throw error;
   }
 }
+
+// Resolves many appointments in one request; the result maps each
+// appointment id to its prescription (only `fields`), or null if none.
+export async function getPrescriptions(appointmentIds, token, fields = []) {
+  const response = await fetch(`${PRESCRITION_API}/batch/${token}`, {
+    method: "POST",
+    headers: {
+      "Content-Type": "application/json"
+    },
+    body: JSON.stringify({ appointmentIds, fields })
+  });
+
+  const result = await response.json();
+  if (!response.ok) {
+    throw new Error(result.message || "Unable to fetch prescriptions");
+  }
+  return result.prescriptions;
+}
+
+// One page of search results. mode "text" matches words in medication,
+// patient name or doctor notes by relevance; "prefix" matches medication
+// names starting with `query`. Pass the returned `next` as `cursor` for the
+// following page (null means there is none).
+export async function searchPrescriptions(query, token, { mode = "text", cursor = null, limit = 20, fields = [] } = {}) {
+  const params = new URLSearchParams({ q: query, mode, limit });
+  if (cursor) params.set("cursor", cursor);
+  if (fields.length) params.set("fields", fields.join(","));
+
+  const response = await fetch(`${PRESCRITION_API}/search/${token}?${params}`);
+  const result = await response.json();
+  if (!response.ok) {
+    throw new Error(result.message || "Unable to search prescriptions");
+  }
+  return { prescriptions: result.prescriptions, next: result.next };
+}
@@ -0,0 +1,26 @@
+package com.project.back_end.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NativeHintsConfigTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @Test
+    void registersJjwtImplementationsThatExist() throws Exception {
+        new NativeHintsConfig.ClinicRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        for (String type : NativeHintsConfig.JJWT_IMPLEMENTATIONS) {
+            // A renamed class in a JJWT upgrade would otherwise only fail in the native image
+            Class.forName(type);
+            assertThat(RuntimeHintsPredicates.reflection().onType(TypeReference.of(type))).accepts(hints);
+        }
+        assertThat(RuntimeHintsPredicates.resource().forResource("META-INF/services/io.jsonwebtoken.io.Serializer"))
+                .accepts(hints);
+    }
+}
@@ -0,0 +1,98 @@
+package com.project.back_end.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+
+    private ReadWriteRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        routing = new ReadWriteRoutingDataSource(primary, replica, 60_000);
+        routing.afterPropertiesSet();
+        routing.setReplicaAvailable(true);
+        ReadWriteRoutingDataSource.bindClient("client-a");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadWriteRoutingDataSource.clearClient();
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void readOnlyTransactionsUseReplica() throws SQLException {
+        inTransaction(true);
+        assertThat(routing.getConnection()).isSameAs(replicaConnection);
+
+        assertThat(ReadWriteRoutingDataSource.onPrimary(this::connection)).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void clientReadsItsWritesFromPrimary() throws SQLException {
+        inTransaction(false);
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+
+        inTransaction(true);
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+
+        ReadWriteRoutingDataSource.bindClient("client-b");
+        assertThat(routing.getConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void fallsBackToPrimaryWhenReplicaIsLaggingOrDown() throws SQLException {
+        inTransaction(true);
+
+        routing.setReplicaAvailable(false);
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+
+        routing.setReplicaAvailable(true);
+        when(replica.getConnection()).thenThrow(new SQLException("down"));
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        assertThat(routing.isReplicaAvailable()).isFalse();
+    }
+
+    @Test
+    void cacheLoadsUseReplicaOnlyWhileItIsCurrent() throws SQLException {
+        inTransaction(true);
+
+        assertThat(ReadWriteRoutingDataSource.forCache(this::connection)).isSameAs(primaryConnection);
+        assertThat(routing.getConnection()).isSameAs(replicaConnection);
+
+        routing.setReplicaCurrent(true);
+        assertThat(ReadWriteRoutingDataSource.forCache(this::connection)).isSameAs(replicaConnection);
+    }
+
+    private void inTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    private Connection connection() {
+        try {
+            return routing.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
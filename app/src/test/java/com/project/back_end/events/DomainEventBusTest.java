@@ -0,0 +1,126 @@
+package com.project.back_end.events;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DomainEventBusTest {
+
+    private DomainEventBus bus;
+
+    @AfterEach
+    void tearDown() {
+        if (bus != null) bus.stop();
+    }
+
+    @Test
+    void deliversEveryEventInOrderToEveryListener() {
+        Recorder first = new Recorder();
+        Recorder second = new Recorder();
+        bus = start(Map.of("first", first, "second", second), 8, "block");
+
+        List<Long> expected = new ArrayList<>();
+        for (long id = 0; id < 1000; id++) {
+            assertThat(bus.enqueue(new DomainEvent.DoctorUpdated(id))).isTrue();
+            expected.add(id);
+        }
+        bus.stop();
+
+        assertThat(first.doctorIds()).isEqualTo(expected);
+        assertThat(second.doctorIds()).isEqualTo(expected);
+        assertThat(first.largestBatch).isGreaterThan(1);
+    }
+
+    @Test
+    void dropsWhenFullUnderDropPolicy() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch blocked = new CountDownLatch(1);
+        DomainEventListener stuck = events -> {
+            blocked.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        bus = start(Map.of("stuck", stuck), 4, "drop");
+
+        bus.enqueue(new DomainEvent.DoctorCreated(0L));
+        assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        int accepted = 0;
+        for (long id = 1; id <= 10; id++) {
+            if (bus.enqueue(new DomainEvent.DoctorCreated(id))) accepted++;
+        }
+        release.countDown();
+
+        assertThat(accepted).isEqualTo(4);
+        assertThat(bus.getStats().get("dropped")).isEqualTo(6L);
+    }
+
+    @Test
+    void wakesAnIdleListener() throws InterruptedException {
+        CountDownLatch received = new CountDownLatch(1);
+        DomainEventListener latch = events -> received.countDown();
+        bus = start(Map.of("latch", latch), 8, "block");
+
+        // Let the consumer find the ring empty and park
+        Thread.sleep(50);
+        bus.enqueue(new DomainEvent.DoctorUpdated(1L));
+
+        assertThat(received.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void countsEventsPublishedWhileStopped() {
+        bus = start(Map.of("recorder", new Recorder()), 8, "block");
+        bus.stop();
+
+        assertThat(bus.enqueue(new DomainEvent.DoctorUpdated(1L))).isFalse();
+        assertThat(bus.getStats().get("dropped")).isEqualTo(1L);
+    }
+
+    private static DomainEventBus start(Map<String, DomainEventListener> listeners, int ringSize, String backpressure) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(new LinkedHashMap<>(listeners));
+        DomainEventBus bus = new DomainEventBus(
+                beans.getBeanProvider(DomainEventListener.class), ringSize, 64, backpressure, 50);
+        bus.start();
+        return bus;
+    }
+
+    private static final class Recorder implements DomainEventListener {
+
+        final List<DomainEvent> received = new CopyOnWriteArrayList<>();
+        volatile int largestBatch;
+
+        @Override
+        public void onEvents(List<DomainEvent> events) {
+            largestBatch = Math.max(largestBatch, events.size());
+            received.addAll(events);
+            // Slow enough for events to pile up into batches
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        List<Long> doctorIds() {
+            List<Long> ids = new ArrayList<>();
+            for (DomainEvent event : received) {
+                ids.add(((DomainEvent.DoctorUpdated) event).doctorId());
+            }
+            return ids;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.project.back_end.repo;
+
+import com.project.back_end.models.Doctor;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the doctor listing queries against N+1 loading of available slots:
+ * each listing must issue a constant number of statements however many
+ * doctors it returns.
+ */
+// The MySQL migrations don't run on H2; the test schema is generated from the mapping
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class DoctorRepositoryQueryCountTest {
+
+    private static final int DOCTORS = 25;
+
+    /** One statement for the query itself; the paged listing may add one batch fetch. */
+    private static final long MAX_STATEMENTS = 2;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < DOCTORS; i++) {
+            Doctor doctor = new Doctor();
+            doctor.setName("Doctor Smith " + i);
+            doctor.setSpecialty(i % 2 == 0 ? "Cardiologist" : "Dermatologist");
+            doctor.setEmail("doctor" + i + "@clinic.test");
+            doctor.setPassword("secret" + i);
+            doctor.setPhone("9000000000");
+            doctor.setAvailableTimes(List.of("09:00-10:00", "14:00-15:00"));
+            entityManager.persist(doctor);
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    void findAll() {
+        assertConstantStatements(() -> doctorRepository.findAll(), DOCTORS);
+    }
+
+    @Test
+    void findByNameContainingIgnoreCaseAndSpecialtyIgnoreCase() {
+        assertConstantStatements(() -> doctorRepository
+                .findByNameContainingIgnoreCaseAndSpecialtyIgnoreCase("smith", "cardiologist"), 13);
+    }
+
+    @Test
+    void findBySpecialtyIgnoreCase() {
+        assertConstantStatements(() -> doctorRepository.findBySpecialtyIgnoreCase("dermatologist"), 12);
+    }
+
+    @Test
+    void findByNameContainingIgnoreCase() {
+        assertConstantStatements(() -> doctorRepository.findByNameContainingIgnoreCase("SMITH"), DOCTORS);
+    }
+
+    @Test
+    void findAvailableBetweenHours() {
+        assertConstantStatements(() -> doctorRepository.findAvailableBetweenHours(null, null, 12, 24), DOCTORS);
+    }
+
+    @Test
+    void findAvailableBetweenHoursMatchesNameWildcardsLiterally() {
+        assertThat(doctorRepository.findAvailableBetweenHours("smith", null, 12, 24)).hasSize(DOCTORS);
+        assertThat(doctorRepository.findAvailableBetweenHours("_", null, 12, 24)).isEmpty();
+        assertThat(doctorRepository.findAvailableBetweenHours("%", null, 12, 24)).isEmpty();
+    }
+
+    @Test
+    void findByIdIn() {
+        List<Long> ids = doctorRepository.findAll().stream().map(Doctor::getId).toList();
+        assertConstantStatements(() -> doctorRepository.findByIdIn(ids), DOCTORS);
+    }
+
+    @Test
+    void findByIdGreaterThanOrderByIdAsc() {
+        assertConstantStatements(() -> doctorRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(20)), 20);
+    }
+
+    private void assertConstantStatements(Supplier<List<Doctor>> listing, int expectedDoctors) {
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<Doctor> doctors = listing.get();
+        // Touch every collection the way JSON serialization would
+        doctors.forEach(doctor -> assertThat(doctor.getAvailableTimes()).hasSize(2));
+
+        assertThat(doctors).hasSize(expectedDoctors);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_STATEMENTS);
+    }
+}
@@ -0,0 +1,92 @@
+package com.project.back_end.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.project.back_end.events.DomainEvent;
+import com.project.back_end.events.DomainEventBus;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AppointmentImportServiceTest {
+
+    private final String time = LocalDateTime.now().plusDays(1).withNano(0).toString();
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final DomainEventBus events = mock(DomainEventBus.class);
+    private final AppointmentImportService service;
+
+    AppointmentImportServiceTest() {
+        DoctorAvailabilityIndex index = mock(DoctorAvailabilityIndex.class);
+        when(index.isOnSchedule(anyLong(), any())).thenReturn(true);
+        service = new AppointmentImportService(jdbcTemplate, mock(PlatformTransactionManager.class),
+                index, events, new ObjectMapper().registerModule(new JavaTimeModule()), 100);
+    }
+
+    @Test
+    void badValuesFailOnlyTheirRow() throws Exception {
+        Map<String, Object> report = importJson("["
+                + "{\"doctorId\":\"abc\",\"patientId\":2,\"notes\":{\"a\":[1,{\"b\":2}]}},"
+                + "{\"doctorId\":1,\"patientId\":2,\"appointmentTime\":\"not a date\"},"
+                + "{\"doctorId\":1,\"patientId\":2,\"appointmentTime\":\"" + time + "\"}"
+                + "]");
+
+        assertThat(report).containsEntry("total", 3).containsEntry("imported", 1).containsEntry("failed", 2)
+                .doesNotContainKey("stopped");
+        assertThat((List<?>) report.get("failures")).hasSize(2);
+    }
+
+    @Test
+    void brokenSyntaxStopsAndSaysSo() throws Exception {
+        Map<String, Object> report = importJson("["
+                + "{\"doctorId\":1,\"patientId\":2,\"appointmentTime\":\"" + time + "\"},"
+                + "{\"doctorId\":1 \"patientId\":2},"
+                + "{\"doctorId\":3,\"patientId\":4,\"appointmentTime\":\"" + time + "\"}"
+                + "]");
+
+        assertThat(report).containsEntry("total", 2).containsEntry("imported", 1).containsEntry("failed", 1)
+                .containsEntry("stopped", "Malformed JSON at row 2; the remaining rows were not read");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void loadsBookedSlotsOncePerDoctorAndDay() throws Exception {
+        LocalDateTime booked = LocalDateTime.parse(time);
+        when(jdbcTemplate.queryForList(anyString(), eq(Timestamp.class), eq(1L), any(), any()))
+                .thenReturn(List.of(Timestamp.valueOf(booked)));
+        String free = booked.plusHours(1).toString();
+
+        Map<String, Object> report = importJson("["
+                + "{\"doctorId\":1,\"patientId\":2,\"appointmentTime\":\"" + time + "\"},"
+                + "{\"doctorId\":1,\"patientId\":3,\"appointmentTime\":\"" + free + "\"},"
+                + "{\"doctorId\":1,\"patientId\":4,\"appointmentTime\":\"" + free + "\"}"
+                + "]");
+
+        assertThat(report).containsEntry("imported", 1).containsEntry("failed", 2);
+        assertThat((List<Map<String, Object>>) report.get("failures")).extracting(f -> f.get("message"))
+                .containsExactly("Slot is already booked", "Duplicate slot within this import");
+        verify(jdbcTemplate, times(1)).queryForList(anyString(), eq(Timestamp.class), eq(1L), any(), any());
+        verify(events, times(1)).publish(any(DomainEvent.AppointmentBooked.class));
+    }
+
+    private Map<String, Object> importJson(String json) throws Exception {
+        return service.importJson(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+}
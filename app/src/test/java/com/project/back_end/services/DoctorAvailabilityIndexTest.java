@@ -0,0 +1,134 @@
+package com.project.back_end.services;
+
+import com.project.back_end.models.Appointment;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.repo.AppointmentRepository;
+import com.project.back_end.repo.DoctorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class DoctorAvailabilityIndexTest {
+
+    private final LocalDate day = LocalDate.now().plusDays(1);
+
+    private DoctorRepository doctorRepository;
+    private AppointmentRepository appointmentRepository;
+    private DoctorAvailabilityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        doctorRepository = mock(DoctorRepository.class);
+        appointmentRepository = mock(AppointmentRepository.class);
+        index = new DoctorAvailabilityIndex(
+                doctorRepository, appointmentRepository, mock(PlatformTransactionManager.class), 30, 60);
+
+        Doctor doctor = new Doctor();
+        doctor.setId(7L);
+        doctor.setAvailableTimes(List.of("09:00-10:00", "10:00-11:00", "14:00-15:00"));
+        when(doctorRepository.findById(7L)).thenReturn(Optional.of(doctor));
+
+        Appointment booked = new Appointment();
+        booked.setDoctor(doctor);
+        booked.setAppointmentTime(day.atTime(10, 0));
+        when(appointmentRepository.findByDoctorIdAndAppointmentTimeBetween(eq(7L), any(), any()))
+                .thenReturn(List.of(booked));
+    }
+
+    @Test
+    void loadsOnceAndServesFromMemory() {
+        assertThat(index.getAvailableSlots(7L, day)).containsExactly("09:00-10:00", "14:00-15:00");
+        assertThat(index.getAvailableSlots(7L, day)).containsExactly("09:00-10:00", "14:00-15:00");
+
+        verify(doctorRepository, times(1)).findById(7L);
+        verify(appointmentRepository, times(1))
+                .findByDoctorIdAndAppointmentTimeBetween(eq(7L), any(), any());
+    }
+
+    @Test
+    void writeHooksUpdateTheBitmap() {
+        index.getAvailableSlots(7L, day);
+
+        index.markBooked(7L, day.atTime(9, 0));
+        index.markFree(7L, day.atTime(10, 0));
+        assertThat(index.getAvailableSlots(7L, day)).containsExactly("10:00-11:00", "14:00-15:00");
+
+        index.evictDoctor(7L);
+        when(doctorRepository.findById(7L)).thenReturn(Optional.empty());
+        assertThat(index.getAvailableSlots(7L, day)).isEmpty();
+    }
+
+    @Test
+    void keepsBookingsMadeBeforeTheDayIsLoaded() {
+        index.getAvailableSlots(7L, day.plusDays(1));
+
+        // The load below does not see it yet, as with a replica that is behind
+        index.markBooked(7L, day.atTime(9, 0));
+        assertThat(index.getAvailableSlots(7L, day)).containsExactly("14:00-15:00");
+    }
+
+    @Test
+    void skipsLabelsWithoutAStartTime() {
+        Doctor doctor = new Doctor();
+        doctor.setId(8L);
+        doctor.setAvailableTimes(List.of("9:00-10:00", "after lunch", "25:00-26:00", "14:00-15:00"));
+        when(doctorRepository.findById(8L)).thenReturn(Optional.of(doctor));
+
+        assertThat(index.getAvailableSlots(8L, day)).containsExactly("9:00-10:00", "14:00-15:00");
+        assertThat(index.isSlotFree(8L, day.atTime(9, 0))).isTrue();
+    }
+
+    @Test
+    void indexesMoreThan64Slots() {
+        List<String> times = new ArrayList<>();
+        for (int minute = 0; minute < 24 * 60; minute += 15) {
+            times.add(String.format("%02d:%02d", minute / 60, minute % 60));
+        }
+        Doctor doctor = new Doctor();
+        doctor.setId(9L);
+        doctor.setAvailableTimes(times);
+        when(doctorRepository.findById(9L)).thenReturn(Optional.of(doctor));
+
+        assertThat(index.getAvailableSlots(9L, day)).hasSize(96);
+        index.markBooked(9L, day.atTime(23, 45));
+        assertThat(index.isSlotFree(9L, day.atTime(23, 45))).isFalse();
+        assertThat(index.getAvailableSlots(9L, day)).hasSize(95).doesNotContain("23:45");
+    }
+
+    @Test
+    void doesNotKeepDaysBeyondTheWindow() {
+        LocalDate farAhead = LocalDate.now().plusDays(400);
+
+        index.getAvailableSlots(7L, farAhead);
+        index.getAvailableSlots(7L, farAhead);
+
+        // Not cached: every lookup reads the day from the database
+        verify(appointmentRepository, times(2))
+                .findByDoctorIdAndAppointmentTimeBetween(eq(7L), eq(farAhead.atStartOfDay()), any());
+    }
+
+    @Test
+    void reloadsEntriesOlderThanTheStalenessBound() {
+        DoctorAvailabilityIndex alwaysStale = new DoctorAvailabilityIndex(
+                doctorRepository, appointmentRepository, mock(PlatformTransactionManager.class), 30, 0);
+
+        alwaysStale.getAvailableSlots(7L, day);
+        // Cancelled on another instance: only the reload can see it
+        when(appointmentRepository.findByDoctorIdAndAppointmentTimeBetween(eq(7L), any(), any()))
+                .thenReturn(List.of());
+        assertThat(alwaysStale.getAvailableSlots(7L, day))
+                .containsExactly("09:00-10:00", "10:00-11:00", "14:00-15:00");
+
+        verify(doctorRepository, times(2)).findById(7L);
+    }
+}
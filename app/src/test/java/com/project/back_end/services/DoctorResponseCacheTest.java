@@ -0,0 +1,59 @@
+package com.project.back_end.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DoctorResponseCacheTest {
+
+    private final DoctorResponseCache cache = new DoctorResponseCache(new ObjectMapper(), 16, 60);
+
+    @Test
+    void servesRepeatedRequestsFromCache() {
+        AtomicInteger loads = new AtomicInteger();
+        String key = DoctorResponseCache.key("filter", "Adams", "AM", "null");
+
+        DoctorResponseCache.Response first = cache.get(key, () -> Map.of("load", loads.incrementAndGet()));
+        DoctorResponseCache.Response second = cache.get(
+                DoctorResponseCache.key("filter", " adams ", "am", ""), () -> Map.of("load", loads.incrementAndGet()));
+
+        assertThat(loads).hasValue(1);
+        assertThat(second.etag()).isEqualTo(first.etag()).startsWith("\"").endsWith("\"");
+    }
+
+    @Test
+    void matchesIfNoneMatchOnlyUntilInvalidated() {
+        String key = DoctorResponseCache.key("all");
+        String etag = cache.get(key, () -> Map.of("doctors", "a")).etag();
+
+        assertThat(cache.matching(key, "\"other\", " + etag)).isNotNull();
+        assertThat(cache.matching(key, "\"other\"")).isNull();
+
+        cache.invalidate();
+        assertThat(cache.matching(key, etag)).isNull();
+
+        // Same content after a write: same strong ETag again
+        assertThat(cache.get(key, () -> Map.of("doctors", "a")).etag()).isEqualTo(etag);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedFiltersBeforeTheListing() {
+        AtomicInteger listingLoads = new AtomicInteger();
+        String listing = DoctorResponseCache.key("all");
+        cache.get(listing, () -> Map.of("load", listingLoads.incrementAndGet()));
+
+        for (int i = 0; i < 40; i++) {
+            cache.get(DoctorResponseCache.key("filter", "name" + i, "AM", "null"), () -> Map.of("doctors", "x"));
+            if (i % 4 == 0) {
+                cache.get(listing, () -> Map.of("load", listingLoads.incrementAndGet()));
+            }
+        }
+
+        assertThat(listingLoads).hasValue(1);
+        assertThat(cache.getStats()).containsEntry("size", 16L);
+    }
+}
@@ -0,0 +1,65 @@
+package com.project.back_end.services;
+
+import com.project.back_end.models.Doctor;
+import com.project.back_end.repo.DoctorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DoctorSearchIndexTest {
+
+    private DoctorSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        DoctorRepository doctorRepository = mock(DoctorRepository.class);
+        when(doctorRepository.findAll()).thenReturn(List.of(
+                doctor(1L, "Emily Adams", "Cardiologist"),
+                doctor(2L, "Mark Johnson", "Neurologist"),
+                doctor(3L, "Sarah Lee", "Dermatologist"),
+                doctor(4L, "Marcus Johnston", "Pediatrician")
+        ));
+        index = new DoctorSearchIndex(doctorRepository);
+    }
+
+    @Test
+    void ranksExactSubstringAboveFuzzyMatch() {
+        assertThat(index.search("johnson", 10))
+                .extracting(DoctorSearchIndex.Hit::id)
+                .startsWith(2L);
+    }
+
+    @Test
+    void toleratesTyposAndPrefixes() {
+        assertThat(index.search("jonson", 10)).extracting(DoctorSearchIndex.Hit::id).contains(2L);
+        assertThat(index.search("Sar", 10)).extracting(DoctorSearchIndex.Hit::id).containsExactly(3L);
+        assertThat(index.search("cardiolgist", 10)).extracting(DoctorSearchIndex.Hit::id).containsExactly(1L);
+    }
+
+    @Test
+    void followsWrites() {
+        index.search("warm up", 1);
+
+        index.put(doctor(5L, "Priya Raman", "Cardiologist"));
+        assertThat(index.search("priya", 10)).extracting(DoctorSearchIndex.Hit::id).containsExactly(5L);
+
+        index.put(doctor(5L, "Priya Sharma", "Cardiologist"));
+        assertThat(index.search("raman", 10)).isEmpty();
+
+        index.remove(5L);
+        assertThat(index.search("priya", 10)).isEmpty();
+    }
+
+    private static Doctor doctor(Long id, String name, String specialty) {
+        Doctor doctor = new Doctor();
+        doctor.setId(id);
+        doctor.setName(name);
+        doctor.setSpecialty(specialty);
+        return doctor;
+    }
+}
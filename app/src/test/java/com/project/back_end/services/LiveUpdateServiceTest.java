@@ -0,0 +1,111 @@
+package com.project.back_end.services;
+
+import com.project.back_end.events.DomainEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LiveUpdateServiceTest {
+
+    private final ExecutorService sender = Executors.newSingleThreadExecutor();
+
+    private final LiveUpdateService liveUpdates = new LiveUpdateService(null, null, 1, 3, 2, sender, 60) {
+        @Override
+        SseEmitter newEmitter(long timeoutMillis) {
+            return new RecordingEmitter(timeoutMillis);
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        liveUpdates.shutdown();
+    }
+
+    @Test
+    void rejectsSubscribersOverTheLimit() {
+        LiveUpdateService.Topic topic = LiveUpdateService.Topic.availability(1L, LocalDate.of(2025, 5, 1));
+
+        assertThat(liveUpdates.subscribe(topic, null, null)).isNotNull();
+        assertThat(liveUpdates.subscribe(LiveUpdateService.Topic.doctorSchedule(1L), "snapshot", () -> List.of()))
+                .isNotNull();
+        assertThat(liveUpdates.subscribe(topic, null, null)).isNotNull();
+        assertThat(liveUpdates.subscribe(topic, null, null)).isNull();
+        assertThat(liveUpdates.getSubscriberCount()).isEqualTo(3);
+    }
+
+    @Test
+    void deliversEventsToMatchingTopicsOnly() throws InterruptedException {
+        LocalDateTime time = LocalDateTime.of(2025, 5, 1, 9, 0);
+        RecordingEmitter matching = (RecordingEmitter) liveUpdates.subscribe(
+                LiveUpdateService.Topic.availability(1L, time.toLocalDate()), "snapshot", () -> Map.of("doctorId", 1L));
+        RecordingEmitter otherDay = (RecordingEmitter) liveUpdates.subscribe(
+                LiveUpdateService.Topic.availability(1L, time.toLocalDate().plusDays(2)), null, null);
+        RecordingEmitter otherDoctor = (RecordingEmitter) liveUpdates.subscribe(
+                LiveUpdateService.Topic.availability(2L, time.toLocalDate()), null, null);
+
+        liveUpdates.onEvents(List.of(new DomainEvent.AppointmentBooked(10L, 1L, 5L, time)));
+        awaitSent();
+
+        assertThat(matching.events).hasSize(2);
+        assertThat(matching.events.get(0)).contains("event:snapshot");
+        assertThat(matching.events.get(1)).contains("event:slot-taken");
+        assertThat(otherDay.events).isEmpty();
+        assertThat(otherDoctor.events).isEmpty();
+    }
+
+    @Test
+    void disconnectsSubscribersThatFallBehind() {
+        LiveUpdateService.Topic topic = LiveUpdateService.Topic.availability(1L, LocalDate.of(2025, 5, 1));
+        // Snapshot supplier that publishes while the subscriber is still held
+        liveUpdates.subscribe(topic, "snapshot", () -> {
+            for (int i = 0; i < 3; i++) {
+                liveUpdates.onEvents(List.of(new DomainEvent.DoctorUpdated(1L)));
+            }
+            return Map.of();
+        });
+
+        assertThat(liveUpdates.getSubscriberCount()).isZero();
+    }
+
+    @Test
+    void scheduleTopicIsOnlyForDoctorsAndPatients() {
+        assertThat(liveUpdates.scheduleTopic("admin", "admin")).isNull();
+    }
+
+    private void awaitSent() throws InterruptedException {
+        // Everything queued so far runs before the executor terminates
+        sender.shutdown();
+        assertThat(sender.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    /** Keeps the text of every event instead of writing to a response. */
+    static final class RecordingEmitter extends SseEmitter {
+
+        final List<String> events = new CopyOnWriteArrayList<>();
+
+        RecordingEmitter(long timeout) {
+            super(timeout);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            StringBuilder text = new StringBuilder();
+            for (ResponseBodyEmitter.DataWithMediaType part : builder.build()) {
+                text.append(part.getData());
+            }
+            events.add(text.toString());
+        }
+    }
+}
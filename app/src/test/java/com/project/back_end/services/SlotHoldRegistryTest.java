@@ -0,0 +1,57 @@
+package com.project.back_end.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlotHoldRegistryTest {
+
+    private final LocalDateTime slot = LocalDateTime.now().plusDays(1).withHour(9).withMinute(0).withSecond(0).withNano(0);
+
+    @Test
+    void exactlyOneContenderWinsASlot() throws Exception {
+        SlotHoldRegistry registry = new SlotHoldRegistry(60);
+        int contenders = 32;
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < contenders; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return registry.hold(7L, slot);
+            }));
+        }
+        start.countDown();
+
+        int winners = 0;
+        for (Future<String> result : results) {
+            if (result.get(5, TimeUnit.SECONDS) != null) winners++;
+        }
+        pool.shutdown();
+
+        assertThat(winners).isEqualTo(1);
+        assertThat(registry.getConflictCount()).isEqualTo(contenders - 1);
+    }
+
+    @Test
+    void releasedAndExpiredHoldsFreeTheSlot() {
+        SlotHoldRegistry registry = new SlotHoldRegistry(60);
+        String hold = registry.hold(7L, slot);
+        assertThat(registry.isHeld(hold, 7L, slot)).isTrue();
+        assertThat(registry.isHeld(hold, 7L, slot.plusHours(1))).isFalse();
+
+        registry.release(hold);
+        assertThat(registry.isHeld(hold, 7L, slot)).isFalse();
+
+        SlotHoldRegistry expiring = new SlotHoldRegistry(0);
+        String stale = expiring.hold(7L, slot);
+        assertThat(expiring.isHeld(stale, 7L, slot)).isFalse();
+        assertThat(expiring.hold(7L, slot)).isNotNull();
+    }
+}
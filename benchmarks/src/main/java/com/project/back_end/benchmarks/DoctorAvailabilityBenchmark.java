@@ -0,0 +1,83 @@
+package com.project.back_end.benchmarks;
+
+import com.project.back_end.models.Appointment;
+import com.project.back_end.models.Doctor;
+import com.project.back_end.repo.AppointmentRepository;
+import com.project.back_end.repo.DoctorRepository;
+import com.project.back_end.services.DoctorAvailabilityIndex;
+import com.project.back_end.services.DoctorService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DoctorService#getDoctorAvailability} against stub repositories,
+ * cycling over many doctors so lookups are not all served from one cache line.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DoctorAvailabilityBenchmark {
+
+    @Param({"1000", "10000"})
+    public int doctorCount;
+
+    @Param({"8", "24"})
+    public int slotsPerDoctor;
+
+    private DoctorService doctorService;
+    private LocalDate date;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        date = LocalDate.now().plusDays(1);
+
+        List<Doctor> doctors = Fixtures.doctors(doctorCount, slotsPerDoctor, slotsPerDoctor, 42);
+
+        DoctorRepository doctorRepository = Stubs.repository(DoctorRepository.class, Map.of(
+                "findById", args -> {
+                    long id = (Long) args[0];
+                    return id >= 1 && id <= doctors.size() ? Optional.of(doctors.get((int) id - 1)) : Optional.empty();
+                }
+        ));
+        AppointmentRepository appointmentRepository = Stubs.repository(AppointmentRepository.class, Map.of(
+                "findByDoctorIdAndAppointmentTimeBetween", args -> {
+                    Doctor doctor = doctors.get((int) (long) (Long) args[0] - 1);
+                    List<Appointment> booked = new ArrayList<>();
+                    // roughly a third of each day's slots are taken
+                    for (String slot : doctor.getAvailableTimes()) {
+                        if (random.nextInt(3) == 0) {
+                            Appointment appointment = new Appointment();
+                            appointment.setDoctor(doctor);
+                            appointment.setAppointmentTime(date.atTime(Integer.parseInt(slot.substring(0, 2)), 0));
+                            booked.add(appointment);
+                        }
+                    }
+                    return booked;
+                }
+        ));
+
+        doctorService = new DoctorService();
+        Stubs.inject(doctorService, "doctorRepository", doctorRepository);
+        Stubs.inject(doctorService, "appointmentRepository", appointmentRepository);
+        Stubs.inject(doctorService, "availabilityIndex", new DoctorAvailabilityIndex(
+                doctorRepository, appointmentRepository, Stubs.transactionManager(), 180, 60));
+    }
+
+    @Benchmark
+    public List<String> getDoctorAvailability() {
+        long doctorId = next++ % doctorCount + 1;
+        return doctorService.getDoctorAvailability(doctorId, date);
+    }
+}
@@ -0,0 +1,109 @@
+package com.project.back_end.benchmarks;
+
+import com.project.back_end.models.Doctor;
+import com.project.back_end.repo.DoctorRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DoctorRepository#findAvailableBetweenHours}, the query behind every
+ * time-based doctor search, on an H2 database seeded with realistic
+ * directories. Slots are touched the way JSON serialization would, so the
+ * time includes loading them. H2 plans differently from MySQL: compare runs
+ * with each other, not with production latencies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DoctorFilterBenchmark {
+
+    @Param({"1000", "10000"})
+    public int doctorCount;
+
+    @Param({"AM", "PM"})
+    public String amOrPm;
+
+    /** "any" for no name filter. */
+    @Param({"any", "Doctor 42"})
+    public String name;
+
+    private AnnotationConfigApplicationContext context;
+    private DoctorRepository doctorRepository;
+    private TransactionTemplate readOnlyTx;
+    private int fromHour;
+    private int toHour;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(RepositoryConfig.class);
+        doctorRepository = context.getBean(DoctorRepository.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (Doctor doctor : Fixtures.doctors(doctorCount, 8, 24, 42)) {
+                doctor.setId(null);
+                doctor.setPassword("secret");
+                doctorRepository.save(doctor);
+            }
+        });
+
+        readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
+        fromHour = amOrPm.equals("AM") ? 0 : 12;
+        toHour = fromHour + 12;
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Doctor> findAvailableBetweenHours() {
+        return readOnlyTx.execute(status -> {
+            List<Doctor> doctors = doctorRepository.findAvailableBetweenHours(
+                    name.equals("any") ? null : name, null, fromHour, toHour);
+            doctors.forEach(doctor -> doctor.getAvailableTimes().size());
+            return doctors;
+        });
+    }
+
+    // Only DoctorRepository: the other repositories in its package need Mongo
+    @Configuration
+    @EnableJpaRepositories(basePackageClasses = DoctorRepository.class,
+            includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = DoctorRepository.class))
+    static class RepositoryConfig {
+
+        @Bean
+        DataSource dataSource() {
+            return H2Jpa.dataSource("doctor-filter");
+        }
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            return H2Jpa.entityManagerFactory(dataSource, H2Jpa.managedTypes(), "create-drop");
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+    }
+}
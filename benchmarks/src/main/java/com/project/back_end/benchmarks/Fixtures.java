@@ -0,0 +1,52 @@
+package com.project.back_end.benchmarks;
+
+import com.project.back_end.models.Doctor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic test data shaped like production: hourly "HH:mm-HH:mm"
+ * slots between 06:00 and 22:00.
+ */
+final class Fixtures {
+
+    static final String[] SPECIALTIES = {
+            "Cardiologist", "Dermatologist", "Neurologist", "Pediatrician", "Orthopedic", "Gynecologist"
+    };
+
+    private Fixtures() {
+    }
+
+    static List<Doctor> doctors(int count, int minSlots, int maxSlots, long seed) {
+        Random random = new Random(seed);
+        List<Doctor> doctors = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            doctors.add(doctor((long) i + 1, minSlots + random.nextInt(maxSlots - minSlots + 1), random));
+        }
+        return doctors;
+    }
+
+    static Doctor doctor(long id, int slotCount, Random random) {
+        Doctor doctor = new Doctor();
+        doctor.setId(id);
+        doctor.setName("Doctor " + id);
+        doctor.setSpecialty(SPECIALTIES[(int) (id % SPECIALTIES.length)]);
+        doctor.setEmail("doctor" + id + "@clinic.test");
+        doctor.setPhone("9000000000");
+        doctor.setAvailableTimes(slots(slotCount, random));
+        return doctor;
+    }
+
+    /** Contiguous hourly slots starting somewhere between 06:00 and the latest start that fits. */
+    static List<String> slots(int count, Random random) {
+        int hours = Math.min(count, 24);
+        int firstHour = hours >= 16 ? 24 - hours : 6 + random.nextInt(16 - hours + 1);
+        List<String> slots = new ArrayList<>(hours);
+        for (int h = firstHour; h < firstHour + hours; h++) {
+            slots.add(String.format("%02d:00-%02d:00", h, (h + 1) % 24));
+        }
+        return slots;
+    }
+}
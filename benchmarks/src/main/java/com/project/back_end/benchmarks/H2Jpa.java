@@ -0,0 +1,57 @@
+package com.project.back_end.benchmarks;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.hibernate.boot.archive.scan.internal.DisabledScanner;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypesScanner;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * The application's JPA mapping on an in-memory H2 database, configured the
+ * way Spring Boot configures it, for benchmarks that need real queries.
+ */
+final class H2Jpa {
+
+    private H2Jpa() {
+    }
+
+    static DataSource dataSource(String name) {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        return h2;
+    }
+
+    /** The entity classes; scanning is slow in the shaded jar, so do it once. */
+    static PersistenceManagedTypes managedTypes() {
+        return new PersistenceManagedTypesScanner(new DefaultResourceLoader())
+                .scan("com.project.back_end.models");
+    }
+
+    /**
+     * @param ddlAuto {@code hibernate.hbm2ddl.auto}, e.g. "create" or "validate"
+     * @return an initialized factory bean
+     */
+    static LocalContainerEntityManagerFactoryBean entityManagerFactory(
+            DataSource dataSource, PersistenceManagedTypes managedTypes, String ddlAuto) {
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setManagedTypes(managedTypes);
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        // Spring Boot's naming, so the tables match the migrations; no archive
+        // scan, which in the shaded jar would walk every class
+        factory.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", ddlAuto,
+                "hibernate.archive.scanner", DisabledScanner.class.getName(),
+                "hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName(),
+                "hibernate.implicit_naming_strategy", SpringImplicitNamingStrategy.class.getName()));
+        factory.afterPropertiesSet();
+        return factory;
+    }
+}
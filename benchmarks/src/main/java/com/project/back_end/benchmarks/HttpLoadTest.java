@@ -0,0 +1,90 @@
+package com.project.back_end.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load generator used to compare the platform-thread and
+ * virtual-thread execution modes of a running back-end instance.
+ *
+ * Usage:
+ * <pre>
+ * java -cp target/benchmarks.jar com.project.back_end.benchmarks.HttpLoadTest \
+ *     &lt;url&gt; [concurrency=5000] [requests=200000] [json-body-file]
+ * </pre>
+ * With a body file every request is a JSON {@code POST} (e.g. a login),
+ * otherwise a {@code GET}.
+ * Keeps {@code concurrency} requests in flight with async I/O, so the client
+ * itself needs only a handful of threads, and prints throughput, latency
+ * percentiles and error count.
+ */
+public final class HttpLoadTest {
+
+    private HttpLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("usage: HttpLoadTest <url> [concurrency] [requests] [json-body-file]");
+            System.exit(2);
+        }
+        URI uri = URI.create(args[0]);
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+        int requests = args.length > 2 ? Integer.parseInt(args[2]) : 200_000;
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30));
+        HttpRequest request = args.length > 3
+                ? builder.header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(Files.readAllBytes(Path.of(args[3])))).build()
+                : builder.GET().build();
+
+        Semaphore inFlight = new Semaphore(concurrency);
+        CountDownLatch done = new CountDownLatch(requests);
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicLong errors = new AtomicLong();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            inFlight.acquire();
+            long sent = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        latencies[next.getAndIncrement()] = System.nanoTime() - sent;
+                        if (failure != null || response.statusCode() >= 400) {
+                            errors.incrementAndGet();
+                        }
+                        inFlight.release();
+                        done.countDown();
+                    });
+        }
+        done.await();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Arrays.sort(latencies);
+        System.out.printf("url          %s%n", uri);
+        System.out.printf("concurrency  %d%n", concurrency);
+        System.out.printf("requests     %d (%d errors)%n", requests, errors.get());
+        System.out.printf("throughput   %.0f req/s%n", requests / seconds);
+        System.out.printf("latency p50  %.2f ms%n", percentile(latencies, 0.50));
+        System.out.printf("latency p99  %.2f ms%n", percentile(latencies, 0.99));
+        System.out.printf("latency max  %.2f ms%n", latencies[latencies.length - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)] / 1e6;
+    }
+}
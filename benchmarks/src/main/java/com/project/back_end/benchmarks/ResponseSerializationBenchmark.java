@@ -0,0 +1,51 @@
+package com.project.back_end.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the {@code Map<String, Object>} bodies returned
+ * by the doctor endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    @Param({"1000", "10000"})
+    public int doctorCount;
+
+    private ObjectMapper objectMapper;
+    private Map<String, Object> doctorsResponse;
+    private Map<String, Object> availabilityResponse;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+        doctorsResponse = new HashMap<>();
+        doctorsResponse.put("doctors", Fixtures.doctors(doctorCount, 8, 24, 42));
+
+        availabilityResponse = new HashMap<>();
+        availabilityResponse.put("availability", List.of("09:00-10:00", "11:00-12:00", "14:00-15:00", "16:00-17:00"));
+    }
+
+    @Benchmark
+    public byte[] serializeDoctors() throws Exception {
+        return objectMapper.writeValueAsBytes(doctorsResponse);
+    }
+
+    @Benchmark
+    public byte[] serializeAvailability() throws Exception {
+        return objectMapper.writeValueAsBytes(availabilityResponse);
+    }
+}
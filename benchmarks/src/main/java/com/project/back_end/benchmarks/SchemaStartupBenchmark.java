@@ -0,0 +1,64 @@
+package com.project.back_end.benchmarks;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+
+import javax.sql.DataSource;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The schema step of startup: building the JPA entity manager factory over
+ * an existing schema with {@code ddl-auto=update} (before the Flyway
+ * migrations) against {@code ddl-auto=validate} plus a Flyway run with
+ * nothing pending (after). Runs on H2, since the MySQL migrations can't, so
+ * it compares the two modes rather than predicting MySQL seconds.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+public class SchemaStartupBenchmark {
+
+    @Param({"update", "validate"})
+    public String ddlAuto;
+
+    private DataSource dataSource;
+    private PersistenceManagedTypes managedTypes;
+
+    @Setup
+    public void setUp() {
+        dataSource = H2Jpa.dataSource("schema-" + ddlAuto);
+        managedTypes = H2Jpa.managedTypes();
+
+        // The schema an upgraded instance finds on boot
+        entityManagerFactory("create").close();
+        if (ddlAuto.equals("validate")) {
+            flyway().baseline();
+        }
+    }
+
+    @Benchmark
+    public void bootSchema() {
+        if (ddlAuto.equals("validate")) {
+            flyway().migrate();
+        }
+        entityManagerFactory(ddlAuto).close();
+    }
+
+    private Flyway flyway() {
+        // Baselined past the last migration: every boot finds nothing to apply
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .baselineVersion("1000")
+                .load();
+    }
+
+    private EntityManagerFactory entityManagerFactory(String mode) {
+        return H2Jpa.entityManagerFactory(dataSource, managedTypes, mode).getObject();
+    }
+}
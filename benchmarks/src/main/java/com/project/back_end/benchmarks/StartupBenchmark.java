@@ -0,0 +1,120 @@
+package com.project.back_end.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures time-to-first-successful-request of a back-end instance: starts
+ * the given command, polls the URL until it answers 2xx, records the time
+ * since launch and stops the process. Repeated to smooth out disk cache and
+ * JIT noise. On Linux the resident set size at that moment is reported too,
+ * e.g. to compare the native executable against the JVM.
+ *
+ * Usage:
+ * <pre>
+ * java -cp target/benchmarks.jar com.project.back_end.benchmarks.StartupBenchmark \
+ *     &lt;url&gt; &lt;runs&gt; &lt;command...&gt;
+ * </pre>
+ * The command's output goes to {@code startup-<n>.log} in the working directory.
+ */
+public final class StartupBenchmark {
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+    private static final Duration MAX_WAIT = Duration.ofMinutes(3);
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("usage: StartupBenchmark <url> <runs> <command...>");
+            System.exit(2);
+        }
+        URI uri = URI.create(args[0]);
+        int runs = Integer.parseInt(args[1]);
+        List<String> command = Arrays.asList(args).subList(2, args.length);
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(200))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(5)).GET().build();
+
+        long[] millis = new long[runs];
+        long[] rssKb = new long[runs];
+        for (int run = 0; run < runs; run++) {
+            long[] result = measure(client, request, command, run);
+            millis[run] = result[0];
+            rssKb[run] = result[1];
+            System.out.printf("run %2d       %d ms, rss %d MB%n", run + 1, millis[run], rssKb[run] / 1024);
+        }
+
+        Arrays.sort(millis);
+        System.out.printf("url          %s%n", uri);
+        System.out.printf("command      %s%n", String.join(" ", command));
+        System.out.printf("first 2xx    min %d ms, median %d ms, max %d ms%n",
+                millis[0], millis[runs / 2], millis[runs - 1]);
+        Arrays.sort(rssKb);
+        System.out.printf("rss          median %d MB%n", rssKb[runs / 2] / 1024);
+    }
+
+    /**
+     * @return milliseconds to the first 2xx and the resident set size in KB
+     *         at that point (-1 where not available)
+     */
+    private static long[] measure(HttpClient client, HttpRequest request, List<String> command, int run)
+            throws Exception {
+        File log = new File("startup-" + (run + 1) + ".log");
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start();
+        try {
+            long deadline = start + MAX_WAIT.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Process exited with " + process.exitValue() + ", see " + log);
+                }
+                try {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() / 100 == 2) {
+                        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                        return new long[] {elapsed, residentSetKb(process.pid())};
+                    }
+                } catch (IOException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(POLL_INTERVAL.toMillis());
+            }
+            throw new IllegalStateException("No successful response within " + MAX_WAIT + ", see " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static long residentSetKb(long pid) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", Long.toString(pid), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Not Linux, or the process is gone
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,73 @@
+package com.project.back_end.benchmarks;
+
+import com.project.back_end.models.Doctor;
+import com.project.back_end.repo.AdminRepository;
+import com.project.back_end.repo.DoctorRepository;
+import com.project.back_end.repo.PatientRepository;
+import com.project.back_end.services.TokenService;
+import com.project.back_end.services.TokenValidationCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token generation and validation, with the validation cache enabled
+ * (steady state of a logged-in dashboard) and disabled (first request).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenServiceBenchmark {
+
+    private static final String SECRET = "$!@#$^%$$$%####$DDCPN0234FCFDPD8670M";
+    private static final String EMAIL = "doctor1@clinic.test";
+
+    private TokenService cached;
+    private TokenService uncached;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cached = tokenService(new TokenValidationCache(10_000, 300));
+        uncached = tokenService(new TokenValidationCache(0, 300));
+        token = cached.generateToken(EMAIL);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cached.generateToken(EMAIL);
+    }
+
+    @Benchmark
+    public boolean validateTokenCached() {
+        return cached.validateToken(token, "doctor");
+    }
+
+    @Benchmark
+    public boolean validateTokenUncached() {
+        return uncached.validateToken(token, "doctor");
+    }
+
+    private static TokenService tokenService(TokenValidationCache cache) {
+        Doctor doctor = new Doctor();
+        doctor.setId(1L);
+        doctor.setEmail(EMAIL);
+
+        TokenService service = new TokenService(
+                Stubs.repository(AdminRepository.class, Map.of("findByUsername", args -> null)),
+                Stubs.repository(DoctorRepository.class, Map.of("findByEmail", args -> doctor)),
+                Stubs.repository(PatientRepository.class, Map.of("findByEmail", args -> Optional.empty())),
+                cache,
+                new SimpleMeterRegistry()
+        );
+        Stubs.inject(service, "jwtSecret", SECRET);
+        Stubs.invoke(service, "initSigningKey");
+        return service;
+    }
+}
@@ -0,0 +1,4 @@
+package com.project.back_end.benchmarks.jmh_generated;
+public class DoctorAvailabilityBenchmark_jmhType extends DoctorAvailabilityBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.project.back_end.benchmarks.jmh_generated;
+public class DoctorFilterBenchmark_jmhType extends DoctorFilterBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.project.back_end.benchmarks.jmh_generated;
+public class ResponseSerializationBenchmark_jmhType extends ResponseSerializationBenchmark_jmhType_B3 {
+}
+
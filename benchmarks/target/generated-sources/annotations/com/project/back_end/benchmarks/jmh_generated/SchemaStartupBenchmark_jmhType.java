@@ -0,0 +1,4 @@
+package com.project.back_end.benchmarks.jmh_generated;
+public class SchemaStartupBenchmark_jmhType extends SchemaStartupBenchmark_jmhType_B3 {
+}
+
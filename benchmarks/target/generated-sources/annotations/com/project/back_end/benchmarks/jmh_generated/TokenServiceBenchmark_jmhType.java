@@ -0,0 +1,4 @@
+package com.project.back_end.benchmarks.jmh_generated;
+public class TokenServiceBenchmark_jmhType extends TokenServiceBenchmark_jmhType_B3 {
+}
+